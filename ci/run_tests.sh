@@ -2,13 +2,28 @@
 set -euo pipefail
 
 # Usage: ./ci/run_tests.sh "@e2e" "additional mvn args"
+# Set IMPACT_BASE (e.g. IMPACT_BASE=origin/main) to run only the scenarios
+# affected by changes since that git revision.
 TAG_FILTER=${1:-"@e2e"}
 ADDITIONAL_ARGS=${2:-""}
+IMPACT_BASE=${IMPACT_BASE:-""}
+FEATURE_ARGS=""
+
+if [ -n "${IMPACT_BASE}" ]; then
+  echo "Selecting scenarios impacted by changes since: ${IMPACT_BASE}"
+  mvn -B -q compile
+  java -cp target/classes utils.TestImpactAnalyzer "${IMPACT_BASE}"
+  if [ ! -s test-output/impacted_scenarios.txt ]; then
+    echo "No scenarios impacted - skipping test run"
+    exit 0
+  fi
+  FEATURE_ARGS="-Dcucumber.features=@test-output/impacted_scenarios.txt"
+fi
 
 echo "Running tests with Cucumber tags: ${TAG_FILTER}"
 
 # run maven tests (non-interactive)
-mvn -B -Dcucumber.filter.tags="${TAG_FILTER}" test ${ADDITIONAL_ARGS}
+mvn -B -Dcucumber.filter.tags="${TAG_FILTER}" ${FEATURE_ARGS} test ${ADDITIONAL_ARGS}
 
 EXIT_CODE=$?
 echo "mvn exit code: ${EXIT_CODE}"
@@ -2,22 +2,64 @@ package hooks;
 
 import io.cucumber.java.*;
 import org.openqa.selenium.WebDriver;
+import org.testng.SkipException;
+import utils.APIUtil;
+import utils.ApiRecorder;
+import utils.ApiStubServer;
+import utils.BackgroundSharing;
+import utils.CommandMetrics;
+import utils.DatabaseUtil;
 import utils.DriverManager;
+import utils.EarlySignalScheduler;
+import utils.LocatorRegistry;
+import utils.NavigationEngine;
+import utils.ResultCache;
 import utils.ScreenshotUtil;
+import utils.WaitStats;
+import utils.WorkerScaler;
 
 /**
  * Cucumber Hooks for setup and teardown operations
  */
 public class Hooks {
     
+    private static final String API_TAG = "@api";
+    
     private WebDriver driver;
+    private boolean workerAcquired;
     
     @Before
     public void setUp(Scenario scenario) {
         System.out.println("========================================");
         System.out.println("Starting Scenario: " + scenario.getName());
         System.out.println("========================================");
+        
+        // Cancel queued scenarios once the fail-fast threshold is crossed
+        if (EarlySignalScheduler.isAborted()) {
+            System.out.println("Scenario CANCELLED (fail-fast): " + scenario.getName());
+            DriverManager.quitDriver();
+            throw new SkipException("Cancelled by fail-fast: " + scenario.getName());
+        }
+        
+        // Skip scenarios that already passed with identical inputs
+        if (ResultCache.isCachedPass(scenario.getUri(), scenario.getLine(), scenario.getName())) {
+            System.out.println("Scenario CACHED: " + scenario.getName());
+            scenario.log("CACHED - passed previously with identical feature, glue, config and app version");
+            throw new SkipException("Cached pass: " + scenario.getName());
+        }
+        
+        // Isolate the scenario's database writes in a transaction rolled back at teardown
+        DatabaseUtil.beginScenarioTransaction();
+        
+        // API-only scenarios run without a browser
+        if (scenario.getSourceTagNames().contains(API_TAG)) {
+            return;
+        }
+        
+        WorkerScaler.acquire();
+        workerAcquired = true;
         driver = DriverManager.getDriver();
+        BackgroundSharing.startScenario(scenario.getUri(), scenario.getSourceTagNames(), driver);
     }
     
     @After
@@ -25,30 +67,68 @@ public class Hooks {
         // Take screenshot if scenario fails
         if (scenario.isFailed()) {
             System.out.println("Scenario FAILED: " + scenario.getName());
-            byte[] screenshot = ScreenshotUtil.takeScreenshotAsBytes(driver);
-            scenario.attach(screenshot, "image/png", scenario.getName());
-            
-            // Also save to file
-            ScreenshotUtil.takeScreenshot(driver, scenario.getName());
-        } else {
+            if (driver != null) {
+                byte[] screenshot = ScreenshotUtil.takeScreenshotAsBytes(driver);
+                scenario.attach(screenshot, "image/png", scenario.getName());
+                
+                // Also save to file
+                ScreenshotUtil.takeScreenshot(driver, scenario.getName());
+            }
+        } else if (scenario.getStatus() == Status.PASSED) {
             System.out.println("Scenario PASSED: " + scenario.getName());
+            ResultCache.recordPass(scenario.getUri(), scenario.getLine(), scenario.getName());
         }
         
         System.out.println("Status: " + scenario.getStatus());
+        EarlySignalScheduler.recordResult(scenario.getName(), scenario.getSourceTagNames(),
+                scenario.getStatus().name());
         System.out.println("========================================\n");
         
-        // Quit driver
-        DriverManager.quitDriver();
+        // Discard the scenario's database writes
+        DatabaseUtil.rollbackScenarioTransaction();
+        
+        // Attach the scenario's WebDriver command counts and latencies (performance.logging)
+        String commandSummary = CommandMetrics.getScenarioSummary();
+        if (commandSummary != null) {
+            scenario.attach(commandSummary, "text/plain", "WebDriver commands");
+        }
+        CommandMetrics.endScenario();
+        
+        // Quit driver (kept open for the next scenario when sharing Background state)
+        BackgroundSharing.endScenario();
+        if (!BackgroundSharing.isEnabled() || scenario.isFailed()) {
+            DriverManager.quitDriver();
+        }
+        if (workerAcquired) {
+            WorkerScaler.release();
+            workerAcquired = false;
+        }
+    }
+    
+    @AfterAll
+    public static void tearDownAll() {
+        // Quit browsers kept open across scenarios
+        DriverManager.quitAllDrivers();
+        WaitStats.logSummary();
+        LocatorRegistry.writeReport();
+        NavigationEngine.logSummary();
+        CommandMetrics.writeReport();
+        APIUtil.logMetrics();
+        ApiRecorder.save();
+        ApiStubServer.stop();
     }
     
     @BeforeStep
     public void beforeStep() {
-        // Code to execute before each step (optional)
+        BackgroundSharing.nextStep();
     }
     
     @AfterStep
     public void afterStep(Scenario scenario) {
         // Take screenshot after each step
+        if (driver == null) {
+            return;
+        }
         try {
             byte[] screenshot = ScreenshotUtil.takeScreenshotAsBytes(driver);
             scenario.attach(screenshot, "image/png", "Step - " + scenario.getName());
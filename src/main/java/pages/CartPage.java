@@ -4,6 +4,7 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.NavigationEngine;
 import utils.SeleniumActions;
 
 import java.time.Duration;
@@ -20,33 +21,20 @@ public class CartPage {
     private By cartTitle = By.className("title");
 
     public CartPage(WebDriver driver) {
+        this(driver, new SeleniumActions(driver));
+    }
+
+    public CartPage(WebDriver driver, SeleniumActions actions) {
         this.driver = driver;
-        this.actions = new SeleniumActions(driver);
+        this.actions = actions;
     }
 
     public void clickCheckout() {
-        // try normal click first and wait for checkout page
-        try {
-            actions.click(checkoutButton);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-            if (!wait.until(ExpectedConditions.urlContains("checkout-step-one"))) {
-                // fallback to navigate directly
-                String base = driver.getCurrentUrl().replaceAll("/cart.*$", "");
-                driver.get(base + "/checkout-step-one.html");
-            }
-        } catch (Exception e) {
-            try {
-                actions.jsClick(checkoutButton);
-                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-                if (!wait.until(ExpectedConditions.urlContains("checkout-step-one"))) {
-                    String base = driver.getCurrentUrl().replaceAll("/cart.*$", "");
-                    driver.get(base + "/checkout-step-one.html");
-                }
-            } catch (Exception ex) {
-                String base = driver.getCurrentUrl().replaceAll("/cart.*$", "");
-                driver.get(base + "/checkout-step-one.html");
-            }
-        }
+        NavigationEngine.navigate(driver, "cart -> checkout", ExpectedConditions.urlContains("checkout-step-one"),
+                NavigationEngine.strategy("click", timeout -> actions.click(checkoutButton, timeout)),
+                NavigationEngine.strategy("js-click", () -> actions.jsClick(checkoutButton)),
+                NavigationEngine.strategy("direct-url", () -> driver.get(
+                        driver.getCurrentUrl().replaceAll("/cart.*$", "") + "/checkout-step-one.html")));
     }
 
     public boolean isCartPageDisplayed() {
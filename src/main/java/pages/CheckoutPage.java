@@ -15,8 +15,12 @@ public class CheckoutPage {
     private By pageTitle = By.className("title");
 
     public CheckoutPage(WebDriver driver) {
+        this(driver, new SeleniumActions(driver));
+    }
+
+    public CheckoutPage(WebDriver driver, SeleniumActions actions) {
         this.driver = driver;
-        this.actions = new SeleniumActions(driver);
+        this.actions = actions;
     }
 
     public boolean isCheckoutInformationPageDisplayed() {
@@ -4,6 +4,9 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import utils.SeleniumActions;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Page Object Model for Login Page
  */
@@ -21,8 +24,12 @@ public class LoginPage {
     
     // Constructor
     public LoginPage(WebDriver driver) {
+        this(driver, new SeleniumActions(driver));
+    }
+    
+    public LoginPage(WebDriver driver, SeleniumActions actions) {
         this.driver = driver;
-        this.actions = new SeleniumActions(driver);
+        this.actions = actions;
     }
     
     // Actions
@@ -52,8 +59,10 @@ public class LoginPage {
     
     // Combined action
     public void login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
+        Map<By, String> credentials = new LinkedHashMap<>();
+        credentials.put(usernameField, username);
+        credentials.put(passwordField, password);
+        actions.fillFields(credentials);
         clickLoginButton();
     }
     
@@ -3,13 +3,12 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import utils.LocatorRegistry;
+import utils.NavigationEngine;
 import utils.SeleniumActions;
 
 import java.util.List;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
 
 /**
  * Page Object Model for Products Page
@@ -25,18 +24,24 @@ public class ProductsPage {
     private By shoppingCartBadge = By.className("shopping_cart_badge");
     private By shoppingCartLink = By.className("shopping_cart_link");
     private By menuButton = By.id("react-burger-menu-btn");
+    private By menuPanel = By.className("bm-menu-wrap");
     private By logoutLink = By.id("logout_sidebar_link");
     private By productSortDropdown = By.className("product_sort_container");
     
-    // Dynamic locators
-    private String addToCartButtonXPath = "//div[text()='%s']/ancestor::div[@class='inventory_item']//button[text()='Add to cart']";
-    private String removeButtonXPath = "//div[text()='%s']/ancestor::div[@class='inventory_item']//button[text()='Remove']";
-    private String productPriceXPath = "//div[text()='%s']/ancestor::div[@class='inventory_item']//div[@class='inventory_item_price']";
+    // Dynamic locators (interned by LocatorRegistry; buttons use the data-test slug of the product name)
+    private String addToCartButtonDataTest = "add-to-cart-%s";
+    private String removeButtonDataTest = "remove-%s";
+    private String productPriceXPath = "//div[@class='inventory_item'][.//div[text()='%s']]//div[@class='inventory_item_price']";
+    private String productNameXPath = "//div[text()='%s']";
     
     // Constructor
     public ProductsPage(WebDriver driver) {
+        this(driver, new SeleniumActions(driver));
+    }
+    
+    public ProductsPage(WebDriver driver, SeleniumActions actions) {
         this.driver = driver;
-        this.actions = new SeleniumActions(driver);
+        this.actions = actions;
     }
     
     // Verifications
@@ -55,23 +60,23 @@ public class ProductsPage {
     }
     
     public void addProductToCart(String productName) {
-        By addToCartButton = By.xpath(String.format(addToCartButtonXPath, productName));
+        By addToCartButton = LocatorRegistry.dataTest(addToCartButtonDataTest, LocatorRegistry.slug(productName));
         actions.click(addToCartButton);
     }
     
     public void removeProductFromCart(String productName) {
-        By removeButton = By.xpath(String.format(removeButtonXPath, productName));
+        By removeButton = LocatorRegistry.dataTest(removeButtonDataTest, LocatorRegistry.slug(productName));
         actions.click(removeButton);
     }
     
     public String getProductPrice(String productName) {
-        By priceLocator = By.xpath(String.format(productPriceXPath, productName));
+        By priceLocator = LocatorRegistry.xpath(productPriceXPath, productName);
         return actions.getText(priceLocator);
     }
     
     public boolean isProductDisplayed(String productName) {
         try {
-            By productLocator = By.xpath(String.format("//div[text()='%s']", productName));
+            By productLocator = LocatorRegistry.xpath(productNameXPath, productName);
             return actions.isDisplayed(productLocator);
         } catch (Exception e) {
             return false;
@@ -87,24 +92,18 @@ public class ProductsPage {
     }
     
     public void clickShoppingCart() {
-        try {
-            actions.click(shoppingCartLink);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-            wait.until(ExpectedConditions.urlContains("cart"));
-        } catch (Exception e) {
-            try {
-                WebElement link = driver.findElement(shoppingCartLink);
-                String href = link.getAttribute("href");
-                if (href != null && !href.isEmpty()) {
+        NavigationEngine.navigate(driver, "inventory -> cart", ExpectedConditions.urlContains("cart"),
+                NavigationEngine.strategy("click", timeout -> actions.click(shoppingCartLink, timeout)),
+                NavigationEngine.strategy("href", () -> {
+                    String href = driver.findElement(shoppingCartLink).getAttribute("href");
+                    if (href == null || href.isEmpty()) {
+                        throw new IllegalStateException("Shopping cart link has no href");
+                    }
                     driver.get(href);
-                } else {
-                    actions.jsClick(shoppingCartLink);
-                }
-            } catch (Exception ex) {
-                String base = driver.getCurrentUrl().replaceAll("/inventory.*$", "");
-                driver.get(base + "/cart.html");
-            }
-        }
+                }),
+                NavigationEngine.strategy("js-click", () -> actions.jsClick(shoppingCartLink)),
+                NavigationEngine.strategy("direct-url", () -> driver.get(
+                        driver.getCurrentUrl().replaceAll("/inventory.*$", "") + "/cart.html")));
     }
     
     // Sort operations
@@ -115,10 +114,18 @@ public class ProductsPage {
     // Menu operations
     public void openMenu() {
         actions.jsClick(menuButton);
+        actions.settle(menuPanel);
+    }
+    
+    public boolean isMenuOpen() {
+        List<WebElement> panels = actions.getElements(menuPanel);
+        return !panels.isEmpty() && "false".equals(panels.get(0).getAttribute("aria-hidden"));
     }
     
     public void logout() {
-        openMenu();
+        if (!isMenuOpen()) {
+            openMenu();
+        }
         actions.click(logoutLink);
     }
 }
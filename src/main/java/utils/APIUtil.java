@@ -1,30 +1,228 @@
 package utils;
 
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
+import io.restassured.http.Method;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * REST API Utility for making HTTP requests and validating responses.
  * Built on top of REST Assured library for API testing.
+ *
+ * Requests never touch the global RestAssured configuration: every request starts from one
+ * shared base specification (base URL, api.timeout connect/read timeouts) built on first
+ * use. RestAssured writes request parameters into the HTTP client, so each thread sends
+ * through its own lightweight client; only the bounded keep-alive connection pool sized by
+ * api.pool.max.total / api.pool.max.per.route is shared. Connection reuse and
+ * per-endpoint latency are exposed as metrics.
+ *
+ * api.mode selects where requests go: live (api.base.url), record (live, with every
+ * exchange saved by {@link ApiRecorder}) or replay (the local {@link ApiStubServer}).
+ * With api.cache.enabled, GETs go through the run-scoped {@link ApiResponseCache} and
+ * writes invalidate the related cached entries.
  */
 public class APIUtil {
     private static final Logger logger = LogManager.getLogger(APIUtil.class);
     private static ConfigReader config = new ConfigReader();
     private static final String BASE_URL = config.getApiBaseUrl();
+    private static final String API_MODE = config.getApiMode();
+    private static final int LOG_BODY_MAX = config.getApiLogBodyMax();
+
+    private static final LongAdder requestCount = new LongAdder();
+    private static final LongAdder connectionsOpened = new LongAdder();
+    private static final Map<String, LatencyHistogram> endpointLatency = new ConcurrentHashMap<>();
+
+    private static final PoolingClientConnectionManager connectionManager = createConnectionManager();
+    private static final ThreadLocal<DefaultHttpClient> httpClient =
+            ThreadLocal.withInitial(APIUtil::createHttpClient);
+
+    /**
+     * Base specification, built on first request (replay mode starts the stub server then)
+     */
+    private static final class BaseSpec {
+        private static final RequestSpecification INSTANCE = buildSpec();
+    }
+
+    /**
+     * Shared, bounded connection pool that counts physically opened connections. It lives for
+     * the whole run: RestAssured shuts down the connection manager of a client it does not
+     * reuse after each request, so shutdown is ignored.
+     */
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(
+                SchemeRegistryFactory.createDefault(), config.getApiKeepAlive(), TimeUnit.SECONDS) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+                return new DefaultClientConnectionOperator(schemeRegistry) {
+                    @Override
+                    public void openConnection(OperatedClientConnection connection, HttpHost target,
+                                               InetAddress local, HttpContext context, HttpParams params)
+                            throws IOException {
+                        connectionsOpened.increment();
+                        super.openConnection(connection, target, local, context, params);
+                    }
+                };
+            }
+
+            @Override
+            public void shutdown() {
+                // shared by every thread's client for the whole run
+            }
+        };
+        manager.setMaxTotal(config.getApiPoolMaxTotal());
+        manager.setDefaultMaxPerRoute(config.getApiPoolMaxPerRoute());
+        logger.info("API connection pool created: maxTotal={}, maxPerRoute={}, keepAlive={}s",
+                config.getApiPoolMaxTotal(), config.getApiPoolMaxPerRoute(), config.getApiKeepAlive());
+        return manager;
+    }
+
+    /**
+     * HTTP client confined to the calling thread, over the shared connection pool.
+     * RestAssured writes the configured parameters into the client on every request, so
+     * clients are never shared between threads.
+     */
+    private static DefaultHttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+        client.addRequestInterceptor((request, context) -> requestCount.increment());
+        return client;
+    }
+
+    /**
+     * Immutable base specification shared by every request; each request merges it into its own
+     * specification and sends through the calling thread's HTTP client. The client instance is
+     * not reused by RestAssured, which would pin the first thread's client into the shared config.
+     */
+    private static RequestSpecification buildSpec() {
+        int timeoutMillis = (int) TimeUnit.SECONDS.toMillis(config.getApiTimeout());
+        HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                .httpClientFactory(httpClient::get)
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, timeoutMillis)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, timeoutMillis);
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setConfig(RestAssuredConfig.config().httpClient(httpClientConfig));
+        if ("replay".equals(API_MODE)) {
+            builder.setBaseUri(ApiStubServer.start() + basePath(BASE_URL));
+        } else if (BASE_URL != null && !BASE_URL.isEmpty()) {
+            builder.setBaseUri(BASE_URL);
+        }
+        if ("record".equals(API_MODE)) {
+            builder.addFilter(ApiRecorder.getFilter());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Path part of the base URL, kept when requests are redirected to the stub server
+     */
+    private static String basePath(String baseUrl) {
+        if (baseUrl == null || baseUrl.isEmpty()) {
+            return "";
+        }
+        String path = java.net.URI.create(baseUrl).getRawPath();
+        return path == null || path.equals("/") ? "" : path;
+    }
+
+    /**
+     * New request based on the shared base specification
+     */
+    public static RequestSpecification request() {
+        return RestAssured.given().spec(BaseSpec.INSTANCE);
+    }
+
+    /**
+     * Send the request and record its latency against the endpoint
+     */
+    private static Response execute(Method method, String endpoint, RequestSpecification request) {
+        long start = System.nanoTime();
+        Response response = request.request(method, endpoint);
+        endpointLatency.computeIfAbsent(method + " " + endpointKey(endpoint), k -> new LatencyHistogram())
+                .recordNanos(System.nanoTime() - start);
+        return response;
+    }
 
     /**
-     * Initialize RestAssured with base URL
+     * Send a request without the response cache lookup, e.g. for generated load. Latency is
+     * recorded against the endpoint, record/replay applies and writes invalidate cached responses.
+     * @param baseUrl base URL overriding the configured one, or null
+     * @param body JSON body, or null
      */
-    static {
-        if (BASE_URL != null && !BASE_URL.isEmpty()) {
-            RestAssured.baseURI = BASE_URL;
-            logger.info("RestAssured base URL set to: {}", BASE_URL);
+    public static Response send(Method method, String endpoint, String baseUrl, Object body) {
+        RequestSpecification request = request();
+        if (baseUrl != null) {
+            request.baseUri(baseUrl);
         }
+        if (body != null) {
+            request.contentType(ContentType.JSON).body(body);
+        }
+        if (method != Method.GET && method != Method.HEAD && method != Method.OPTIONS) {
+            ApiResponseCache.invalidate(endpoint);
+        }
+        return execute(method, endpoint, request);
+    }
+
+    /**
+     * GET through the run-scoped response cache when api.cache.enabled is set:
+     * fresh entries are served directly, stale ones are revalidated and reused on 304
+     */
+    private static Response cachedGet(String endpoint, Map<String, String> headers) {
+        if (!ApiResponseCache.isEnabled()) {
+            return execute(Method.GET, endpoint, request().headers(headers));
+        }
+        String key = ApiResponseCache.key(endpoint, headers);
+        ApiResponseCache.Entry entry = ApiResponseCache.lookup(key);
+        if (entry != null && entry.isFresh()) {
+            ApiResponseCache.recordHit(false);
+            logger.debug("GET {} served from cache", endpoint);
+            return entry.getResponse();
+        }
+        RequestSpecification request = request().headers(headers);
+        if (entry != null) {
+            request.headers(entry.conditionalHeaders());
+        }
+        Response response = execute(Method.GET, endpoint, request);
+        if (entry != null && response.getStatusCode() == 304) {
+            ApiResponseCache.refresh(key, entry, response);
+            ApiResponseCache.recordHit(true);
+            logger.debug("GET {} revalidated from cache", endpoint);
+            return entry.getResponse();
+        }
+        ApiResponseCache.store(key, endpoint, response);
+        return response;
+    }
+
+    /**
+     * Endpoint without query string, with numeric path segments collapsed to {id}
+     */
+    private static String endpointKey(String endpoint) {
+        int query = endpoint.indexOf('?');
+        String path = query >= 0 ? endpoint.substring(0, query) : endpoint;
+        return path.replaceAll("/\\d+(?=/|$)", "/{id}");
     }
 
     /**
@@ -32,7 +230,7 @@ public class APIUtil {
      */
     public static Response get(String endpoint) {
         logger.info("GET request to: {}", endpoint);
-        return RestAssured.get(endpoint);
+        return cachedGet(endpoint, Map.of());
     }
 
     /**
@@ -40,77 +238,82 @@ public class APIUtil {
      */
     public static Response get(String endpoint, Map<String, String> headers) {
         logger.info("GET request to: {} with headers", endpoint);
-        RequestSpecification request = RestAssured.given().headers(headers);
-        return request.get(endpoint);
+        return cachedGet(endpoint, headers);
     }
 
     /**
      * Make POST request with JSON body
      */
     public static Response post(String endpoint, Object body) {
-        logger.info("POST request to: {} with body: {}", endpoint, body);
-        return RestAssured.given()
+        logger.info("POST request to: {}", endpoint);
+        logBody(body);
+        ApiResponseCache.invalidate(endpoint);
+        return execute(Method.POST, endpoint, request()
                 .contentType(ContentType.JSON)
-                .body(body)
-                .post(endpoint);
+                .body(body));
     }
 
     /**
      * Make POST request with JSON body and headers
      */
     public static Response post(String endpoint, Object body, Map<String, String> headers) {
-        logger.info("POST request to: {} with headers and body", endpoint);
-        return RestAssured.given()
+        logger.info("POST request to: {} with headers", endpoint);
+        logBody(body);
+        ApiResponseCache.invalidate(endpoint);
+        return execute(Method.POST, endpoint, request()
                 .headers(headers)
                 .contentType(ContentType.JSON)
-                .body(body)
-                .post(endpoint);
+                .body(body));
     }
 
     /**
      * Make PUT request with JSON body
      */
     public static Response put(String endpoint, Object body) {
-        logger.info("PUT request to: {} with body: {}", endpoint, body);
-        return RestAssured.given()
+        logger.info("PUT request to: {}", endpoint);
+        logBody(body);
+        ApiResponseCache.invalidate(endpoint);
+        return execute(Method.PUT, endpoint, request()
                 .contentType(ContentType.JSON)
-                .body(body)
-                .put(endpoint);
+                .body(body));
     }
 
     /**
      * Make PUT request with JSON body and headers
      */
     public static Response put(String endpoint, Object body, Map<String, String> headers) {
-        logger.info("PUT request to: {} with headers and body", endpoint);
-        return RestAssured.given()
+        logger.info("PUT request to: {} with headers", endpoint);
+        logBody(body);
+        ApiResponseCache.invalidate(endpoint);
+        return execute(Method.PUT, endpoint, request()
                 .headers(headers)
                 .contentType(ContentType.JSON)
-                .body(body)
-                .put(endpoint);
+                .body(body));
     }
 
     /**
      * Make PATCH request with JSON body
      */
     public static Response patch(String endpoint, Object body) {
-        logger.info("PATCH request to: {} with body: {}", endpoint, body);
-        return RestAssured.given()
+        logger.info("PATCH request to: {}", endpoint);
+        logBody(body);
+        ApiResponseCache.invalidate(endpoint);
+        return execute(Method.PATCH, endpoint, request()
                 .contentType(ContentType.JSON)
-                .body(body)
-                .patch(endpoint);
+                .body(body));
     }
 
     /**
      * Make PATCH request with JSON body and headers
      */
     public static Response patch(String endpoint, Object body, Map<String, String> headers) {
-        logger.info("PATCH request to: {} with headers and body", endpoint);
-        return RestAssured.given()
+        logger.info("PATCH request to: {} with headers", endpoint);
+        logBody(body);
+        ApiResponseCache.invalidate(endpoint);
+        return execute(Method.PATCH, endpoint, request()
                 .headers(headers)
                 .contentType(ContentType.JSON)
-                .body(body)
-                .patch(endpoint);
+                .body(body));
     }
 
     /**
@@ -118,7 +321,8 @@ public class APIUtil {
      */
     public static Response delete(String endpoint) {
         logger.info("DELETE request to: {}", endpoint);
-        return RestAssured.delete(endpoint);
+        ApiResponseCache.invalidate(endpoint);
+        return execute(Method.DELETE, endpoint, request());
     }
 
     /**
@@ -126,8 +330,8 @@ public class APIUtil {
      */
     public static Response delete(String endpoint, Map<String, String> headers) {
         logger.info("DELETE request to: {} with headers", endpoint);
-        RequestSpecification request = RestAssured.given().headers(headers);
-        return request.delete(endpoint);
+        ApiResponseCache.invalidate(endpoint);
+        return execute(Method.DELETE, endpoint, request().headers(headers));
     }
 
     /**
@@ -164,7 +368,7 @@ public class APIUtil {
      * Get response as JSON object
      */
     public static Object getResponseAsJSON(Response response, String jsonPath) {
-        return response.jsonPath().get(jsonPath);
+        return JsonExtractor.extract(response, jsonPath);
     }
 
     /**
@@ -172,7 +376,16 @@ public class APIUtil {
      */
     public static String extractFromJSON(Response response, String jsonPath) {
         logger.info("Extracting value from path: {}", jsonPath);
-        return response.jsonPath().getString(jsonPath);
+        return JsonExtractor.extractString(response, jsonPath);
+    }
+
+    /**
+     * Extract several values from JSON response in a single pass over the body
+     * @return values keyed by path, in the order given
+     */
+    public static Map<String, Object> extractValuesFromJSON(Response response, String... jsonPaths) {
+        logger.info("Extracting values from paths: {}", String.join(", ", jsonPaths));
+        return JsonExtractor.extractAll(response, jsonPaths);
     }
 
     /**
@@ -214,6 +427,67 @@ public class APIUtil {
      */
     public static Object extractAllFromJSON(Response response, String jsonPath) {
         logger.info("Extracting all values from path: {}", jsonPath);
-        return response.jsonPath().get(jsonPath);
+        return JsonExtractor.extract(response, jsonPath);
+    }
+
+    /**
+     * Log a request body at DEBUG; rendered only when DEBUG is on, truncated to api.log.body.max
+     */
+    private static void logBody(Object body) {
+        logger.debug("Request body: {}", () -> {
+            String text = String.valueOf(body);
+            return text.length() <= LOG_BODY_MAX ? text
+                    : text.substring(0, LOG_BODY_MAX) + "... (" + text.length() + " chars, truncated)";
+        });
+    }
+
+    // ========== METRICS ==========
+
+    /**
+     * HTTP requests sent (including redirects and retries)
+     */
+    public static long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * Physical connections opened; the rest of the requests reused a pooled keep-alive connection
+     */
+    public static long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    /**
+     * Share of requests served on an already open connection (0-1)
+     */
+    public static double getConnectionReuseRatio() {
+        long requests = requestCount.sum();
+        return requests == 0 ? 0 : Math.max(0, 1 - (double) connectionsOpened.sum() / requests);
+    }
+
+    /**
+     * Latency histogram for an endpoint key such as "GET /users/{id}", or null if never called
+     */
+    public static LatencyHistogram getEndpointLatency(String endpointKey) {
+        return endpointLatency.get(endpointKey);
+    }
+
+    public static String getMetricsSummary() {
+        PoolStats pool = connectionManager.getTotalStats();
+        StringBuilder summary = new StringBuilder(String.format(
+                "API metrics: requests=%d connectionsOpened=%d reuse=%.1f%% | pool leased=%d available=%d max=%d pending=%d",
+                getRequestCount(), getConnectionsOpened(), getConnectionReuseRatio() * 100,
+                pool.getLeased(), pool.getAvailable(), pool.getMax(), pool.getPending()));
+        new TreeMap<>(endpointLatency).forEach((endpoint, histogram) ->
+                summary.append(System.lineSeparator()).append("  ").append(endpoint).append(": ")
+                        .append(histogram.getSummary()));
+        return summary.toString();
+    }
+
+    public static void logMetrics() {
+        if (getRequestCount() > 0 || !endpointLatency.isEmpty()) {
+            logger.info(getMetricsSummary());
+        }
+        ApiResponseCache.logSummary();
     }
 }
@@ -0,0 +1,82 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One recorded API request/response pair, stored as JSON by {@link ApiRecorder}
+ * and served by {@link ApiStubServer}
+ */
+public class ApiExchange {
+    private String method;
+    private String path;
+    private String requestBody;
+    private int status;
+    private Map<String, String> headers = new LinkedHashMap<>();
+    private String body;
+
+    public ApiExchange() {
+    }
+
+    public ApiExchange(String method, String path, int status, String body) {
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.body = body;
+    }
+
+    /**
+     * Key used to match incoming requests, e.g. "GET /users?page=2"
+     */
+    public String key() {
+        return method.toUpperCase() + " " + path;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getRequestBody() {
+        return requestBody;
+    }
+
+    public void setRequestBody(String requestBody) {
+        this.requestBody = requestBody;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,219 @@
+package utils;
+
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator that replays an API flow (a list of requests run in order) through
+ * {@link APIUtil#send}, so load requests share its base specification and HTTP client and
+ * are counted in its endpoint metrics.
+ *
+ * Open model: flow iterations start at a fixed arrival rate on their own virtual threads,
+ * whatever the response times, and latency is measured from each iteration's intended
+ * start time, so a stalled server shows up in the percentiles instead of silently
+ * lowering the request rate (no coordinated omission).
+ * Closed model: N virtual users each run the flow back to back (optionally with think
+ * time) until the duration is over; latency is measured from the actual send time.
+ */
+public class ApiLoadGenerator {
+    private static final Logger logger = LogManager.getLogger(ApiLoadGenerator.class);
+    private static ConfigReader config = new ConfigReader();
+
+    /**
+     * One request of the flow
+     */
+    public static class FlowStep {
+        private final Method method;
+        private final String endpoint;
+        private final String body;
+
+        public FlowStep(String method, String endpoint, String body) {
+            this.method = Method.valueOf(method.trim().toUpperCase());
+            this.endpoint = endpoint;
+            this.body = body == null || body.isBlank() ? null : body;
+        }
+
+        public String label() {
+            return method + " " + endpoint;
+        }
+    }
+
+    /**
+     * Throughput and latency of one load run
+     */
+    public static class LoadReport {
+        private final String model;
+        private final LatencyHistogram flowLatency = new LatencyHistogram();
+        private final Map<String, LatencyHistogram> stepLatency = new LinkedHashMap<>();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder iterations = new LongAdder();
+        private long elapsedNanos;
+
+        LoadReport(String model, List<FlowStep> flow) {
+            this.model = model;
+            for (FlowStep step : flow) {
+                stepLatency.putIfAbsent(step.label(), new LatencyHistogram());
+            }
+        }
+
+        public String getModel() {
+            return model;
+        }
+
+        public LatencyHistogram getFlowLatency() {
+            return flowLatency;
+        }
+
+        public LatencyHistogram getStepLatency(String label) {
+            return stepLatency.get(label);
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public double getErrorRate() {
+            long total = requests.sum();
+            return total == 0 ? 0 : (double) errors.sum() / total;
+        }
+
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : requests.sum() * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public String format() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("API load run (%s) at %s%n", model, LocalDateTime.now()));
+            report.append(String.format("Duration: %.1fs | iterations=%d requests=%d errors=%d (%.2f%%) | throughput=%.1f req/s%n",
+                    elapsedNanos / 1_000_000_000.0, iterations.sum(), getRequests(), getErrors(),
+                    getErrorRate() * 100, getThroughput()));
+            report.append("Flow: ").append(flowLatency.getSummary()).append(System.lineSeparator());
+            stepLatency.forEach((label, histogram) -> report.append("  ").append(label).append(": ")
+                    .append(histogram.getSummary()).append(System.lineSeparator()));
+            return report.toString();
+        }
+    }
+
+    /**
+     * Open model: start the flow at the given arrival rate for the duration
+     * @param baseUrl target base URL, or null for APIUtil's configured target
+     */
+    public static LoadReport runOpenModel(String baseUrl, List<FlowStep> flow, double iterationsPerSecond,
+                                          Duration duration) {
+        LoadReport report = new LoadReport(String.format("open, %.1f iterations/s", iterationsPerSecond), flow);
+        long intervalNanos = (long) (1_000_000_000L / iterationsPerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        logger.info("Starting open-model load: {} iterations/s for {}s", iterationsPerSecond, duration.toSeconds());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                executor.submit(() -> runIteration(baseUrl, flow, intendedStart, report));
+            }
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        logger.info("Open-model load finished{}{}", System.lineSeparator(), report.format());
+        return report;
+    }
+
+    /**
+     * Closed model: the given number of virtual users run the flow back to back
+     * @param baseUrl target base URL, or null for APIUtil's configured target
+     */
+    public static LoadReport runClosedModel(String baseUrl, List<FlowStep> flow, int users, Duration duration,
+                                            Duration thinkTime) {
+        LoadReport report = new LoadReport("closed, " + users + " users", flow);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        logger.info("Starting closed-model load: {} users for {}s", users, duration.toSeconds());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        runIteration(baseUrl, flow, System.nanoTime(), report);
+                        if (!thinkTime.isZero()) {
+                            LockSupport.parkNanos(thinkTime.toNanos());
+                        }
+                    }
+                });
+            }
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        logger.info("Closed-model load finished{}{}", System.lineSeparator(), report.format());
+        return report;
+    }
+
+    /**
+     * Append the report to api-load-report.txt under the report path
+     */
+    public static Path writeReport(LoadReport report) {
+        Path path = Paths.get(config.getReportPath(), "api-load-report.txt");
+        try {
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, report.format() + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            logger.info("API load report written to {}", path);
+        } catch (IOException e) {
+            logger.error("Failed to write API load report: {}", path, e);
+        }
+        return path;
+    }
+
+    /**
+     * Run the flow once; the first step's latency counts from the intended start
+     */
+    private static void runIteration(String baseUrl, List<FlowStep> flow, long intendedStart, LoadReport report) {
+        long stepStart = intendedStart;
+        for (FlowStep step : flow) {
+            boolean failed;
+            try {
+                Response response = APIUtil.send(step.method, step.endpoint, baseUrl, step.body);
+                failed = response.getStatusCode() >= 400;
+            } catch (RuntimeException e) {
+                logger.debug("Load request {} failed: {}", step.label(), e.getMessage());
+                failed = true;
+            }
+            long now = System.nanoTime();
+            report.stepLatency.get(step.label()).recordNanos(now - stepStart);
+            report.requests.increment();
+            if (failed) {
+                report.errors.increment();
+            }
+            stepStart = now;
+        }
+        report.flowLatency.recordNanos(System.nanoTime() - intendedStart);
+        report.iterations.increment();
+    }
+}
@@ -0,0 +1,126 @@
+package utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Records real API exchanges (api.mode=record) and loads them for replay.
+ *
+ * Recording is a RestAssured filter added to APIUtil's request specification. The
+ * exchanges of a run are written to api.recordings.dir/recordings.json at the end of
+ * the run, replacing earlier recordings of the same method and path.
+ */
+public class ApiRecorder implements Filter {
+    private static final Logger logger = LogManager.getLogger(ApiRecorder.class);
+    private static ConfigReader config = new ConfigReader();
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String RECORDING_FILE = "recordings.json";
+
+    private static final ApiRecorder instance = new ApiRecorder();
+    private static final List<ApiExchange> recorded = Collections.synchronizedList(new ArrayList<>());
+
+    public static ApiRecorder getFilter() {
+        return instance;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        Response response = context.next(requestSpec, responseSpec);
+        URI uri = URI.create(requestSpec.getURI());
+        String path = uri.getRawPath() + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+
+        ApiExchange exchange = new ApiExchange(requestSpec.getMethod(), path, response.getStatusCode(),
+                response.getBody().asString());
+        Object requestBody = requestSpec.getBody();
+        exchange.setRequestBody(requestBody != null ? requestBody.toString() : null);
+        for (Header header : response.getHeaders()) {
+            exchange.getHeaders().put(header.getName(), header.getValue());
+        }
+        recorded.add(exchange);
+        logger.debug("Recorded {} -> {}", exchange.key(), exchange.getStatus());
+        return response;
+    }
+
+    /**
+     * Write this run's recordings, keeping earlier ones for endpoints not called again
+     */
+    public static void save() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        List<ApiExchange> exchanges;
+        synchronized (recorded) {
+            exchanges = new ArrayList<>(recorded);
+        }
+        Set<String> recordedKeys = new HashSet<>();
+        exchanges.forEach(exchange -> recordedKeys.add(exchange.key()));
+
+        Path file = Paths.get(config.getApiRecordingsDir(), RECORDING_FILE);
+        List<ApiExchange> merged = new ArrayList<>();
+        if (Files.exists(file)) {
+            for (ApiExchange existing : read(file)) {
+                if (!recordedKeys.contains(existing.key())) {
+                    merged.add(existing);
+                }
+            }
+        }
+        merged.addAll(exchanges);
+        try {
+            Files.createDirectories(file.getParent());
+            mapper.writeValue(file.toFile(), merged);
+            logger.info("Saved {} recorded API exchanges ({} total) to {}", exchanges.size(), merged.size(), file);
+        } catch (IOException e) {
+            logger.error("Failed to save API recordings: {}", file, e);
+        }
+    }
+
+    /**
+     * All recordings from api.recordings.dir (every *.json file)
+     */
+    public static List<ApiExchange> loadAll() {
+        List<ApiExchange> exchanges = new ArrayList<>();
+        Path dir = Paths.get(config.getApiRecordingsDir());
+        if (!Files.isDirectory(dir)) {
+            logger.warn("API recordings directory not found: {}", dir);
+            return exchanges;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(path -> path.toString().endsWith(".json")).sorted()
+                    .forEach(path -> exchanges.addAll(read(path)));
+        } catch (IOException e) {
+            logger.error("Failed to list API recordings in {}", dir, e);
+        }
+        return exchanges;
+    }
+
+    private static List<ApiExchange> read(Path file) {
+        try {
+            return mapper.readValue(file.toFile(), new TypeReference<List<ApiExchange>>() { });
+        } catch (IOException e) {
+            logger.error("Failed to read API recordings: {}", file, e);
+            return new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package utils;
+
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Run-scoped LRU cache for GET responses (api.cache.enabled).
+ *
+ * Entries are keyed on the endpoint plus the values of the headers listed in
+ * api.cache.vary.headers, and bounded by api.cache.max.entries. An entry is served
+ * without a request while fresh (Cache-Control max-age, else api.cache.ttl seconds);
+ * after that it is revalidated with If-None-Match / If-Modified-Since and reused on 304,
+ * which renews its freshness and validators from the 304 headers.
+ * Responses marked no-store, non-200 responses and stale entries without validators are
+ * not reused. Writes invalidate entries for the same path, its children and its parents.
+ */
+public class ApiResponseCache {
+    private static final Logger logger = LogManager.getLogger(ApiResponseCache.class);
+    private static ConfigReader config = new ConfigReader();
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private static final boolean enabled = config.isApiCacheEnabled();
+    private static final int maxEntries = config.getApiCacheMaxEntries();
+    private static final long ttlMillis = TimeUnit.SECONDS.toMillis(config.getApiCacheTtl());
+    private static final List<String> varyHeaders = Arrays.stream(config.getApiCacheVaryHeaders().split(","))
+            .map(String::trim).filter(h -> !h.isEmpty()).map(String::toLowerCase).toList();
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder revalidated = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+    private static final LongAdder invalidations = new LongAdder();
+
+    private static final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Cached response with its validators
+     */
+    public static class Entry {
+        private final String path;
+        private final Response response;
+        private final String etag;
+        private final String lastModified;
+        private final long freshUntil;
+
+        Entry(String path, Response response, String etag, String lastModified, long freshUntil) {
+            this.path = path;
+            this.response = response;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.freshUntil = freshUntil;
+        }
+
+        public Response getResponse() {
+            return response;
+        }
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() < freshUntil;
+        }
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        /**
+         * If-None-Match / If-Modified-Since headers for a conditional request
+         */
+        public Map<String, String> conditionalHeaders() {
+            Map<String, String> headers = new LinkedHashMap<>();
+            if (etag != null) {
+                headers.put("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                headers.put("If-Modified-Since", lastModified);
+            }
+            return headers;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cache key: endpoint plus the vary headers that were sent
+     */
+    public static String key(String endpoint, Map<String, String> headers) {
+        StringBuilder key = new StringBuilder(endpoint);
+        if (headers != null && !headers.isEmpty()) {
+            Map<String, String> relevant = new TreeMap<>();
+            headers.forEach((name, value) -> {
+                if (varyHeaders.contains(name.toLowerCase())) {
+                    relevant.put(name.toLowerCase(), value);
+                }
+            });
+            relevant.forEach((name, value) -> key.append('|').append(name).append('=').append(value));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Entry usable for this key (fresh, or stale with validators), or null
+     */
+    public static synchronized Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isFresh() && !entry.hasValidators()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Count a response served from cache; revalidated means a 304 confirmed it
+     */
+    public static void recordHit(boolean afterRevalidation) {
+        (afterRevalidation ? revalidated : hits).increment();
+    }
+
+    /**
+     * Store a fresh GET response if it may be reused
+     */
+    public static void store(String key, String endpoint, Response response) {
+        misses.increment();
+        if (response.getStatusCode() != 200) {
+            return;
+        }
+        String cacheControl = response.getHeader("Cache-Control");
+        if (cacheControl != null && cacheControl.toLowerCase().contains("no-store")) {
+            return;
+        }
+        long freshFor = freshnessMillis(cacheControl);
+        String etag = response.getHeader("ETag");
+        String lastModified = response.getHeader("Last-Modified");
+        if (freshFor <= 0 && etag == null && lastModified == null) {
+            return;
+        }
+        response.asByteArray();
+        synchronized (ApiResponseCache.class) {
+            entries.put(key, new Entry(path(endpoint), response, etag, lastModified,
+                    System.currentTimeMillis() + freshFor));
+        }
+    }
+
+    /**
+     * Renew a revalidated entry from the headers of the 304 that confirmed it. Headers the
+     * 304 leaves out keep the values of the cached response.
+     */
+    public static void refresh(String key, Entry entry, Response notModified) {
+        String cacheControl = notModified.getHeader("Cache-Control");
+        if (cacheControl == null) {
+            cacheControl = entry.response.getHeader("Cache-Control");
+        }
+        synchronized (ApiResponseCache.class) {
+            if (entries.get(key) != entry) {
+                return;
+            }
+            if (cacheControl != null && cacheControl.toLowerCase().contains("no-store")) {
+                entries.remove(key);
+                return;
+            }
+            String etag = notModified.getHeader("ETag");
+            String lastModified = notModified.getHeader("Last-Modified");
+            entries.put(key, new Entry(entry.path, entry.response,
+                    etag != null ? etag : entry.etag, lastModified != null ? lastModified : entry.lastModified,
+                    System.currentTimeMillis() + freshnessMillis(cacheControl)));
+        }
+    }
+
+    /**
+     * Drop entries related to a written endpoint: the same path, its children and its parents
+     */
+    public static void invalidate(String endpoint) {
+        if (!enabled) {
+            return;
+        }
+        String written = path(endpoint);
+        synchronized (ApiResponseCache.class) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                String cached = iterator.next().path;
+                if (isSameOrChild(cached, written) || isSameOrChild(written, cached)) {
+                    iterator.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    public static synchronized void clear() {
+        entries.clear();
+    }
+
+    public static synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Share of GETs answered from cache, with or without revalidation
+     */
+    public static double getHitRate() {
+        long served = hits.sum() + revalidated.sum();
+        long total = served + misses.sum();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    public static String getSummary() {
+        return String.format("API cache: entries=%d/%d hits=%d revalidated=%d misses=%d hitRate=%.1f%% evictions=%d invalidations=%d",
+                size(), maxEntries, hits.sum(), revalidated.sum(), misses.sum(), getHitRate() * 100,
+                evictions.sum(), invalidations.sum());
+    }
+
+    public static void logSummary() {
+        if (enabled && hits.sum() + revalidated.sum() + misses.sum() > 0) {
+            logger.info(getSummary());
+        }
+    }
+
+    /**
+     * How long a response stays fresh: Cache-Control max-age, 0 for no-cache, else api.cache.ttl
+     */
+    private static long freshnessMillis(String cacheControl) {
+        if (cacheControl == null) {
+            return ttlMillis;
+        }
+        String directives = cacheControl.toLowerCase();
+        if (directives.contains("no-cache")) {
+            return 0;
+        }
+        Matcher maxAge = MAX_AGE.matcher(directives);
+        return maxAge.find() ? TimeUnit.SECONDS.toMillis(Long.parseLong(maxAge.group(1))) : ttlMillis;
+    }
+
+    private static String path(String endpoint) {
+        int query = endpoint.indexOf('?');
+        String path = query >= 0 ? endpoint.substring(0, query) : endpoint;
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static boolean isSameOrChild(String path, String parent) {
+        return path.equals(parent) || path.startsWith(parent.endsWith("/") ? parent : parent + "/");
+    }
+}
@@ -0,0 +1,224 @@
+package utils;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded HTTP server that replays recorded API exchanges (api.mode=replay).
+ *
+ * Requests are matched on method, path and query; when several exchanges were recorded
+ * for the same request they are served in recorded order (the last one repeats), and an
+ * exchange whose recorded request body equals the incoming body is preferred. Each
+ * response is delayed according to the latency profile (api.stub.latency):
+ * none, lan (1-3ms), wan (50-110ms), a fixed "25" or a uniform range "10-50" in ms.
+ * Exchanges can also be registered in code with {@link #stub}.
+ */
+public class ApiStubServer {
+    private static final Logger logger = LogManager.getLogger(ApiStubServer.class);
+    private static ConfigReader config = new ConfigReader();
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "content-length", "transfer-encoding", "connection", "content-encoding", "keep-alive", "date");
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static final Map<String, List<ApiExchange>> exchanges = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    private static final LongAdder served = new LongAdder();
+    private static final LongAdder unmatched = new LongAdder();
+    private static volatile long minLatencyMillis;
+    private static volatile long maxLatencyMillis;
+
+    /**
+     * Start the server (once) with the recordings from api.recordings.dir
+     * @return base URL, e.g. http://127.0.0.1:54321
+     */
+    public static synchronized String start() {
+        if (server != null) {
+            return getBaseUrl();
+        }
+        setLatencyProfile(config.getApiStubLatency());
+        for (ApiExchange exchange : ApiRecorder.loadAll()) {
+            register(exchange);
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getApiStubPort()), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start API stub server", e);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", ApiStubServer::handle);
+        server.start();
+        logger.info("API stub server started at {} with {} recorded endpoints (latency {}-{}ms)",
+                getBaseUrl(), exchanges.size(), minLatencyMillis, maxLatencyMillis);
+        return getBaseUrl();
+    }
+
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        logger.info("API stub server stopped. Served {} requests ({} unmatched)", served.sum(), unmatched.sum());
+    }
+
+    public static synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    public static synchronized String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("API stub server is not running");
+        }
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    /**
+     * Serve a fixed JSON response for a method and path (including any query string),
+     * replacing any recordings of that request
+     */
+    public static void stub(String method, String path, int status, String body) {
+        ApiExchange exchange = new ApiExchange(method, path, status, body);
+        exchange.getHeaders().put("Content-Type", "application/json");
+        exchanges.put(exchange.key(), new CopyOnWriteArrayList<>(List.of(exchange)));
+        cursors.remove(exchange.key());
+    }
+
+    /**
+     * none | lan | wan | fixed ms ("25") | uniform range in ms ("10-50")
+     */
+    public static void setLatencyProfile(String profile) {
+        String value = profile == null ? "none" : profile.trim().toLowerCase();
+        switch (value) {
+            case "none":
+                setLatency(0, 0);
+                break;
+            case "lan":
+                setLatency(1, 3);
+                break;
+            case "wan":
+                setLatency(50, 110);
+                break;
+            default:
+                String[] range = value.split("-");
+                try {
+                    long min = Long.parseLong(range[0].trim());
+                    setLatency(min, range.length > 1 ? Long.parseLong(range[1].trim()) : min);
+                } catch (NumberFormatException e) {
+                    logger.warn("Unknown stub latency profile '{}', using none", profile);
+                    setLatency(0, 0);
+                }
+        }
+    }
+
+    public static long getServedCount() {
+        return served.sum();
+    }
+
+    public static long getUnmatchedCount() {
+        return unmatched.sum();
+    }
+
+    private static void setLatency(long min, long max) {
+        minLatencyMillis = Math.max(0, min);
+        maxLatencyMillis = Math.max(minLatencyMillis, max);
+    }
+
+    private static void register(ApiExchange exchange) {
+        exchanges.computeIfAbsent(exchange.key(), k -> new CopyOnWriteArrayList<>()).add(exchange);
+    }
+
+    private static void handle(HttpExchange http) throws IOException {
+        try (http) {
+            String path = http.getRequestURI().getRawPath()
+                    + (http.getRequestURI().getRawQuery() != null ? "?" + http.getRequestURI().getRawQuery() : "");
+            String key = http.getRequestMethod().toUpperCase() + " " + path;
+            String requestBody;
+            try (InputStream in = http.getRequestBody()) {
+                requestBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            delay();
+            ApiExchange match = find(key, requestBody);
+            if (match == null) {
+                unmatched.increment();
+                logger.warn("No recorded API exchange for {}", key);
+                byte[] body = ("{\"error\":\"No recorded exchange for " + key.replace("\"", "'") + "\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                http.getResponseHeaders().set("Content-Type", "application/json");
+                http.sendResponseHeaders(404, body.length);
+                http.getResponseBody().write(body);
+                return;
+            }
+
+            served.increment();
+            Headers headers = http.getResponseHeaders();
+            match.getHeaders().forEach((name, value) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                    headers.set(name, value);
+                }
+            });
+            byte[] body = match.getBody() == null ? new byte[0] : match.getBody().getBytes(StandardCharsets.UTF_8);
+            boolean noBody = body.length == 0 || match.getStatus() == 204 || match.getStatus() == 304
+                    || "HEAD".equalsIgnoreCase(http.getRequestMethod());
+            http.sendResponseHeaders(match.getStatus(), noBody ? -1 : body.length);
+            if (!noBody) {
+                try (OutputStream out = http.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        }
+    }
+
+    private static ApiExchange find(String key, String requestBody) {
+        List<ApiExchange> candidates = exchanges.get(key);
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        if (!requestBody.isEmpty()) {
+            for (ApiExchange candidate : candidates) {
+                if (requestBody.equals(candidate.getRequestBody())) {
+                    return candidate;
+                }
+            }
+        }
+        int index = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return candidates.get(Math.min(index, candidates.size() - 1));
+    }
+
+    private static void delay() {
+        long min = minLatencyMillis;
+        long max = maxLatencyMillis;
+        if (max == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
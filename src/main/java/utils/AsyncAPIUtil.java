@@ -0,0 +1,176 @@
+package utils;
+
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous variant of {@link APIUtil} for running independent API calls concurrently.
+ *
+ * Every call runs on its own virtual thread through the regular APIUtil methods, so it
+ * shares APIUtil's keep-alive connection pool and endpoint metrics. At most
+ * api.async.max.concurrency calls are in flight at once, keeping fan-outs within the
+ * pool size. Each call has a timeout (api.timeout by default); a call that overruns is
+ * completed with a TimeoutException and its thread is interrupted.
+ *
+ * Typical fan-out/fan-in:
+ * <pre>
+ * List&lt;Response&gt; created = AsyncAPIUtil.awaitAll(List.of(
+ *         AsyncAPIUtil.postAsync("/users", alice),
+ *         AsyncAPIUtil.postAsync("/users", bob)));
+ * </pre>
+ */
+public class AsyncAPIUtil {
+    private static final Logger logger = LogManager.getLogger(AsyncAPIUtil.class);
+    private static ConfigReader config = new ConfigReader();
+    private static final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("api-async-", 0).factory());
+    private static final Semaphore inFlight = new Semaphore(Math.max(1, config.getApiAsyncMaxConcurrency()));
+
+    /**
+     * Run an API call asynchronously with the default timeout (api.timeout)
+     */
+    public static CompletableFuture<Response> submit(Supplier<Response> call) {
+        return submit(call, Duration.ofSeconds(config.getApiTimeout()));
+    }
+
+    /**
+     * Run an API call asynchronously, failing it with a TimeoutException after the timeout
+     */
+    public static <T> CompletableFuture<T> submit(Supplier<T> call, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                inFlight.acquire();
+                try {
+                    result.complete(call.get());
+                } finally {
+                    inFlight.release();
+                }
+            } catch (InterruptedException e) {
+                result.completeExceptionally(e);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException || error instanceof CancellationException) {
+                logger.warn("Async API call did not complete within {} ms - interrupting", timeout.toMillis());
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // ========== ASYNC VERBS ==========
+
+    public static CompletableFuture<Response> getAsync(String endpoint) {
+        return submit(() -> APIUtil.get(endpoint));
+    }
+
+    public static CompletableFuture<Response> getAsync(String endpoint, Map<String, String> headers) {
+        return submit(() -> APIUtil.get(endpoint, headers));
+    }
+
+    public static CompletableFuture<Response> postAsync(String endpoint, Object body) {
+        return submit(() -> APIUtil.post(endpoint, body));
+    }
+
+    public static CompletableFuture<Response> postAsync(String endpoint, Object body, Map<String, String> headers) {
+        return submit(() -> APIUtil.post(endpoint, body, headers));
+    }
+
+    public static CompletableFuture<Response> putAsync(String endpoint, Object body) {
+        return submit(() -> APIUtil.put(endpoint, body));
+    }
+
+    public static CompletableFuture<Response> putAsync(String endpoint, Object body, Map<String, String> headers) {
+        return submit(() -> APIUtil.put(endpoint, body, headers));
+    }
+
+    public static CompletableFuture<Response> patchAsync(String endpoint, Object body) {
+        return submit(() -> APIUtil.patch(endpoint, body));
+    }
+
+    public static CompletableFuture<Response> deleteAsync(String endpoint) {
+        return submit(() -> APIUtil.delete(endpoint));
+    }
+
+    public static CompletableFuture<Response> deleteAsync(String endpoint, Map<String, String> headers) {
+        return submit(() -> APIUtil.delete(endpoint, headers));
+    }
+
+    // ========== FAN-OUT / FAN-IN ==========
+
+    /**
+     * Start all calls concurrently
+     */
+    public static <T> List<CompletableFuture<T>> fanOut(List<Supplier<T>> calls, Duration timeout) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(calls.size());
+        for (Supplier<T> call : calls) {
+            futures.add(submit(call, timeout));
+        }
+        return futures;
+    }
+
+    /**
+     * Wait for all futures and return their results in order. On the first failure the
+     * remaining calls are cancelled and the failure is rethrown.
+     */
+    public static <T> List<T> awaitAll(List<CompletableFuture<T>> futures) {
+        CompletableFuture<?>[] all = futures.toArray(new CompletableFuture<?>[0]);
+        CompletableFuture<Void> done = CompletableFuture.allOf(all);
+        for (CompletableFuture<T> future : futures) {
+            future.whenComplete((value, error) -> {
+                if (error != null) {
+                    done.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            done.join();
+        } catch (CompletionException | CancellationException e) {
+            futures.forEach(future -> future.cancel(true));
+            logger.error("Async API fan-out failed: {}", e.getMessage());
+            throw e;
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Run all calls concurrently and wait for all results (per-call timeout api.timeout)
+     */
+    public static <T> List<T> runAll(List<Supplier<T>> calls) {
+        return awaitAll(fanOut(calls, Duration.ofSeconds(config.getApiTimeout())));
+    }
+
+    /**
+     * GET all endpoints concurrently, responses in the same order
+     */
+    public static List<Response> getAll(List<String> endpoints) {
+        List<Supplier<Response>> calls = new ArrayList<>(endpoints.size());
+        for (String endpoint : endpoints) {
+            calls.add(() -> APIUtil.get(endpoint));
+        }
+        return runAll(calls);
+    }
+}
@@ -0,0 +1,95 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opt-in mode that runs a feature's Background steps once per worker session.
+ *
+ * Background step definitions wrap their setup in {@link #runShared(Runnable)}. The
+ * first scenario of a feature on a worker runs the step and checkpoints the browser
+ * state; later scenarios of the same feature on that worker restore the checkpoint
+ * instead. Scenarios tagged {@value #FRESH_TAG} always run the Background for real.
+ */
+public class BackgroundSharing {
+    private static final Logger logger = LogManager.getLogger(BackgroundSharing.class);
+    private static ConfigReader config = new ConfigReader();
+    public static final String FRESH_TAG = "@freshBackground";
+
+    private static final ThreadLocal<Map<String, BrowserCheckpoint>> checkpoints =
+            ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<ScenarioState> currentScenario = new ThreadLocal<>();
+
+    private static class ScenarioState {
+        private final String featureUri;
+        private final boolean fresh;
+        private int stepIndex;
+
+        ScenarioState(String featureUri, boolean fresh) {
+            this.featureUri = featureUri;
+            this.fresh = fresh;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return config.isBackgroundSharingEnabled();
+    }
+
+    /**
+     * Called before each scenario: resets the reused browser session's state
+     */
+    public static void startScenario(URI featureUri, Collection<String> tags, WebDriver driver) {
+        if (!isEnabled()) {
+            return;
+        }
+        currentScenario.set(new ScenarioState(featureUri.toString(), tags.contains(FRESH_TAG)));
+        BrowserCheckpoint.clearState(driver);
+    }
+
+    /**
+     * Called before each step so that checkpoints are keyed by step position
+     */
+    public static void nextStep() {
+        ScenarioState state = currentScenario.get();
+        if (state != null) {
+            state.stepIndex++;
+        }
+    }
+
+    /**
+     * Run a Background setup step, or restore the checkpoint taken after it on this worker
+     */
+    public static void runShared(Runnable setup) {
+        ScenarioState state = currentScenario.get();
+        if (!isEnabled() || state == null || state.fresh) {
+            setup.run();
+            return;
+        }
+
+        WebDriver driver = DriverManager.getDriver();
+        String key = state.featureUri + "#" + state.stepIndex;
+        BrowserCheckpoint checkpoint = checkpoints.get().get(key);
+        if (checkpoint != null) {
+            checkpoint.restore(driver);
+            logger.debug("Restored Background checkpoint {} at {}", key, checkpoint.getUrl());
+            return;
+        }
+
+        setup.run();
+        checkpoints.get().put(key, BrowserCheckpoint.capture(driver));
+        logger.debug("Captured Background checkpoint {}", key);
+    }
+
+    /**
+     * Called after each scenario
+     */
+    public static void endScenario() {
+        currentScenario.remove();
+    }
+}
@@ -0,0 +1,97 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot of browser state (URL, cookies, localStorage and sessionStorage)
+ * that can be captured after setup steps and restored into the same or another session.
+ */
+public class BrowserCheckpoint {
+
+    private static final String READ_STORAGE_SCRIPT =
+            "var s = window[arguments[0]], o = {};" +
+            "for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); }" +
+            "return o;";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var s = window[arguments[0]], o = arguments[1]; s.clear();" +
+            "for (var k in o) { s.setItem(k, o[k]); }";
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}";
+
+    private final String url;
+    private final Set<Cookie> cookies;
+    private final Map<String, Object> localStorage;
+    private final Map<String, Object> sessionStorage;
+
+    private BrowserCheckpoint(String url, Set<Cookie> cookies,
+                              Map<String, Object> localStorage, Map<String, Object> sessionStorage) {
+        this.url = url;
+        this.cookies = cookies;
+        this.localStorage = localStorage;
+        this.sessionStorage = sessionStorage;
+    }
+
+    /**
+     * Capture the current browser state
+     */
+    @SuppressWarnings("unchecked")
+    public static BrowserCheckpoint capture(WebDriver driver) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Map<String, Object> local = (Map<String, Object>) js.executeScript(READ_STORAGE_SCRIPT, "localStorage");
+        Map<String, Object> session = (Map<String, Object>) js.executeScript(READ_STORAGE_SCRIPT, "sessionStorage");
+        return new BrowserCheckpoint(driver.getCurrentUrl(),
+                new HashSet<>(driver.manage().getCookies()),
+                local != null ? new HashMap<>(local) : new HashMap<>(),
+                session != null ? new HashMap<>(session) : new HashMap<>());
+    }
+
+    /**
+     * Restore this state: replace cookies and storage on the checkpoint's origin, then load its URL
+     */
+    public void restore(WebDriver driver) {
+        String origin = originOf(url);
+        if (!origin.equals(originOf(driver.getCurrentUrl()))) {
+            driver.get(origin);
+        }
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        js.executeScript(WRITE_STORAGE_SCRIPT, "localStorage", localStorage);
+        js.executeScript(WRITE_STORAGE_SCRIPT, "sessionStorage", sessionStorage);
+        driver.get(url);
+    }
+
+    /**
+     * Clear cookies and storage for the page currently loaded in the browser
+     */
+    public static void clearState(WebDriver driver) {
+        String current = driver.getCurrentUrl();
+        if (current == null || !current.startsWith("http")) {
+            return;
+        }
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    private static String originOf(String url) {
+        if (url == null || !url.startsWith("http")) {
+            return "";
+        }
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority() + "/";
+    }
+}
@@ -0,0 +1,502 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Column names plus a lazy stream of rows, used as the source of
+ * {@link DatabaseUtil#bulkInsert(String, BulkData)}.
+ *
+ * CSV and Excel sources take the column names from their first row. CSV and .xlsx
+ * files are streamed: rows are parsed on demand, so large fixture files are never held
+ * in memory. Legacy .xls workbooks have no streaming format and are loaded whole.
+ * Close the instance (try-with-resources) to release the underlying file.
+ */
+public class BulkData implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(BulkData.class);
+
+    private final List<String> columns;
+    private final Stream<Object[]> rows;
+
+    /**
+     * Source of rows read one at a time; returns null after the last row
+     */
+    @FunctionalInterface
+    private interface RowReader {
+        Object[] next() throws IOException;
+    }
+
+    private BulkData(List<String> columns, Stream<Object[]> rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * Rows supplied by the caller, one value per column
+     */
+    public static BulkData of(List<String> columns, Stream<Object[]> rows) {
+        return new BulkData(List.copyOf(columns), rows);
+    }
+
+    /**
+     * Comma-separated file with a header row. Quoted fields may contain commas, doubled
+     * quotes and line breaks (read as \n); unquoted empty fields are loaded as NULL.
+     * A quoted field left open at the end of the file fails the read.
+     */
+    public static BulkData fromCsv(Path csvFile) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+        Object[] header;
+        try {
+            header = readCsvRecord(reader, csvFile);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+        if (header == null) {
+            reader.close();
+            throw new IOException("CSV file is empty: " + csvFile);
+        }
+        List<String> columns = new ArrayList<>();
+        for (Object column : header) {
+            columns.add(String.valueOf(column).trim());
+        }
+        logger.info("Reading bulk data from CSV {} with columns {}", csvFile, columns);
+        return new BulkData(columns, lazyRows(() -> readCsvRecord(reader, csvFile), reader));
+    }
+
+    /**
+     * Excel sheet (.xlsx/.xls) with a header row. Numeric cells are loaded as Long or
+     * BigDecimal, date cells as LocalDateTime and blank cells as NULL; formula cells
+     * use their cached result.
+     * @param sheetName sheet to read, or null for the first sheet
+     */
+    public static BulkData fromExcel(Path excelFile, String sheetName) throws IOException {
+        String fileName = excelFile.getFileName().toString().toLowerCase();
+        if (fileName.endsWith(".xlsx") || fileName.endsWith(".xlsm")) {
+            return fromXlsx(excelFile, sheetName);
+        }
+        Workbook workbook = WorkbookFactory.create(excelFile.toFile(), null, true);
+        Sheet sheet = sheetName != null ? workbook.getSheet(sheetName) : workbook.getSheetAt(0);
+        if (sheet == null) {
+            workbook.close();
+            throw new IOException("Sheet '" + sheetName + "' not found in " + excelFile);
+        }
+        Iterator<Row> iterator = sheet.iterator();
+        if (!iterator.hasNext()) {
+            workbook.close();
+            throw new IOException("Sheet is empty: " + sheet.getSheetName() + " in " + excelFile);
+        }
+        DataFormatter formatter = new DataFormatter();
+        List<String> columns = new ArrayList<>();
+        for (Cell cell : iterator.next()) {
+            columns.add(formatter.formatCellValue(cell).trim());
+        }
+        int width = columns.size();
+        Stream<Object[]> rows = StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .map(row -> toValues(row, width))
+                .filter(values -> Arrays.stream(values).anyMatch(value -> value != null))
+                .onClose(() -> {
+                    try {
+                        workbook.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        logger.info("Reading bulk data from Excel {} (sheet {}) with columns {}", excelFile, sheet.getSheetName(), columns);
+        return new BulkData(columns, rows);
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public Stream<Object[]> getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        rows.close();
+    }
+
+    /**
+     * .xlsx sheet read row by row from the sheet XML; only shared strings and styles are loaded up front
+     */
+    private static BulkData fromXlsx(Path excelFile, String sheetName) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(excelFile.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Not a valid .xlsx file: " + excelFile, e);
+        }
+        XlsxSheet sheet = null;
+        try {
+            sheet = XlsxSheet.open(pkg, sheetName, excelFile);
+            List<Object> header = sheet.readRow();
+            if (header == null) {
+                throw new IOException("Sheet is empty: " + sheet.name + " in " + excelFile);
+            }
+            List<String> columns = new ArrayList<>();
+            for (Object value : header) {
+                columns.add(value == null ? "" : String.valueOf(value).trim());
+            }
+            int width = columns.size();
+            XlsxSheet rows = sheet;
+            RowReader reader = () -> {
+                List<Object> row;
+                while ((row = rows.readRow()) != null) {
+                    Object[] values = new Object[width];
+                    for (int i = 0; i < width && i < row.size(); i++) {
+                        values[i] = row.get(i);
+                    }
+                    if (Arrays.stream(values).anyMatch(value -> value != null)) {
+                        return values;
+                    }
+                }
+                return null;
+            };
+            logger.info("Reading bulk data from Excel {} (sheet {}, streamed) with columns {}",
+                    excelFile, sheet.name, columns);
+            return new BulkData(columns, lazyRows(reader, sheet));
+        } catch (IOException | RuntimeException e) {
+            if (sheet != null) {
+                sheet.close();
+            } else {
+                pkg.revert();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stream pulling rows from the reader on demand and closing the resource with the stream
+     */
+    private static Stream<Object[]> lazyRows(RowReader reader, AutoCloseable resource) {
+        Iterator<Object[]> iterator = new Iterator<>() {
+            private Object[] next;
+            private boolean finished;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !finished) {
+                    try {
+                        next = reader.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    finished = next == null;
+                }
+                return next != null;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] row = next;
+                next = null;
+                return row;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        resource.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+    }
+
+    /**
+     * One worksheet of an .xlsx package, parsed with a pull parser
+     */
+    private static final class XlsxSheet implements AutoCloseable {
+        private static final XMLInputFactory xmlFactory = createXmlFactory();
+
+        private final OPCPackage pkg;
+        private final InputStream input;
+        private final XMLStreamReader xml;
+        private final ReadOnlySharedStringsTable strings;
+        private final StylesTable styles;
+        private final String name;
+        private final Path file;
+
+        private XlsxSheet(OPCPackage pkg, InputStream input, ReadOnlySharedStringsTable strings,
+                          StylesTable styles, String name, Path file) throws XMLStreamException {
+            this.pkg = pkg;
+            this.input = input;
+            this.strings = strings;
+            this.styles = styles;
+            this.name = name;
+            this.file = file;
+            this.xml = xmlFactory.createXMLStreamReader(input);
+        }
+
+        private static XMLInputFactory createXmlFactory() {
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return factory;
+        }
+
+        static XlsxSheet open(OPCPackage pkg, String sheetName, Path file) throws IOException {
+            try {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                StylesTable styles = reader.getStylesTable();
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+                while (sheets.hasNext()) {
+                    InputStream input = sheets.next();
+                    if (sheetName == null || sheetName.equals(sheets.getSheetName())) {
+                        try {
+                            return new XlsxSheet(pkg, input, strings, styles, sheets.getSheetName(), file);
+                        } catch (XMLStreamException e) {
+                            input.close();
+                            throw e;
+                        }
+                    }
+                    input.close();
+                }
+            } catch (OpenXML4JException | XMLStreamException | SAXException e) {
+                throw new IOException("Failed to open sheet in " + file, e);
+            }
+            throw new IOException("Sheet '" + sheetName + "' not found in " + file);
+        }
+
+        /**
+         * Next row's cell values by column index (gaps are null), or null after the last row
+         */
+        List<Object> readRow() throws IOException {
+            try {
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                        return readCells();
+                    }
+                }
+                return null;
+            } catch (XMLStreamException | RuntimeException e) {
+                throw new IOException("Failed to read sheet " + name + " in " + file, e);
+            }
+        }
+
+        private List<Object> readCells() throws XMLStreamException {
+            List<Object> values = new ArrayList<>();
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                    String ref = xml.getAttributeValue(null, "r");
+                    int column = ref != null ? new CellReference(ref).getCol() : values.size();
+                    Object value = readCell();
+                    while (values.size() <= column) {
+                        values.add(null);
+                    }
+                    values.set(column, value);
+                } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            return values;
+        }
+
+        private Object readCell() throws XMLStreamException {
+            String type = xml.getAttributeValue(null, "t");
+            String style = xml.getAttributeValue(null, "s");
+            String text = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = xml.getLocalName();
+                    if ("v".equals(element)) {
+                        text = xml.getElementText();
+                    } else if ("t".equals(element)) {
+                        // inline string, possibly split into rich text runs
+                        text = (text == null ? "" : text) + xml.getElementText();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            return toValue(type, style, text);
+        }
+
+        private Object toValue(String type, String style, String text) {
+            if (text == null) {
+                return null;
+            }
+            if (type == null || type.equals("n")) {
+                if (text.isEmpty()) {
+                    return null;
+                }
+                double number = Double.parseDouble(text);
+                if (style != null && isDateStyle(Integer.parseInt(style)) && DateUtil.isValidExcelDate(number)) {
+                    return DateUtil.getLocalDateTime(number);
+                }
+                return toNumber(number);
+            }
+            switch (type) {
+                case "s":
+                    return strings.getItemAt(Integer.parseInt(text)).getString();
+                case "str":
+                case "inlineStr":
+                    return text;
+                case "b":
+                    return "1".equals(text) || "true".equalsIgnoreCase(text);
+                default:
+                    return null;
+            }
+        }
+
+        private boolean isDateStyle(int styleIndex) {
+            if (styles == null) {
+                return false;
+            }
+            XSSFCellStyle cellStyle = styles.getStyleAt(styleIndex);
+            return cellStyle != null && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                xml.close();
+            } catch (XMLStreamException e) {
+                logger.debug("Failed to close sheet parser for {}", file, e);
+            } finally {
+                input.close();
+                pkg.revert();
+            }
+        }
+    }
+
+    private static Object[] toValues(Row row, int width) {
+        Object[] values = new Object[width];
+        for (int i = 0; i < width; i++) {
+            values[i] = toValue(row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL));
+        }
+        return values;
+    }
+
+    private static Object toValue(Cell cell) {
+        if (cell == null) {
+            return null;
+        }
+        CellType type = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
+        switch (type) {
+            case NUMERIC:
+                if (DateUtil.isCellDateFormatted(cell)) {
+                    return cell.getLocalDateTimeCellValue();
+                }
+                return toNumber(cell.getNumericCellValue());
+            case STRING:
+                return cell.getStringCellValue();
+            case BOOLEAN:
+                return cell.getBooleanCellValue();
+            default:
+                return null;
+        }
+    }
+
+    private static Object toNumber(double number) {
+        if (number == Math.rint(number) && Math.abs(number) < Long.MAX_VALUE) {
+            return (long) number;
+        }
+        return BigDecimal.valueOf(number);
+    }
+
+    /**
+     * Next CSV record, skipping blank lines; a quoted field continues over line breaks
+     * @return field values, or null at the end of the file
+     */
+    private static Object[] readCsvRecord(BufferedReader reader, Path csvFile) throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        List<Object> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == ',') {
+                    values.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                    field.setLength(0);
+                    wasQuoted = false;
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Unterminated quoted field at end of CSV file: " + csvFile);
+            }
+            field.append('\n');
+        }
+        values.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+        return values.toArray();
+    }
+}
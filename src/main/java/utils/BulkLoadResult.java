@@ -0,0 +1,56 @@
+package utils;
+
+/**
+ * Outcome of a {@link DatabaseUtil} bulk load
+ */
+public class BulkLoadResult {
+    private final String table;
+    private final long rows;
+    private final int batches;
+    private final long elapsedNanos;
+    private final boolean committed;
+
+    BulkLoadResult(String table, long rows, int batches, long elapsedNanos, boolean committed) {
+        this.table = table;
+        this.rows = rows;
+        this.batches = batches;
+        this.elapsedNanos = elapsedNanos;
+        this.committed = committed;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Rows written (0 when the load was rolled back)
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * False when the load failed and was rolled back
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d rows in %d batches, %.1f ms (%.0f rows/s)%s", table, rows, batches,
+                getElapsedMillis(), getRowsPerSecond(), committed ? "" : " - rolled back");
+    }
+}
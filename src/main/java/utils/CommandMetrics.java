@@ -0,0 +1,214 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebDriver command latency, recorded by a listener that {@link DriverManager} decorates
+ * every driver with when performance.logging or worker.scaling.enabled is set.
+ *
+ * Each call on the driver, its elements, navigation, options and so on is timed into a
+ * run-wide {@link LatencyHistogram} per command (findElement, click, executeScript,
+ * getScreenshotAs, ...). Calls are also attributed to the scenario and step running on the
+ * thread, as announced by {@link CommandMetricsPlugin}; Hooks attaches the per-scenario
+ * summary and webdriver-commands.txt collects the run report. Every command latency is also
+ * fed to {@link WorkerScaler} as its command latency signal.
+ */
+public class CommandMetrics implements WebDriverListener {
+    private static final Logger logger = LogManager.getLogger(CommandMetrics.class);
+    private static ConfigReader config = new ConfigReader();
+    private static final CommandMetrics LISTENER = new CommandMetrics();
+
+    private static final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private static final Map<String, StepTotals> steps = new ConcurrentHashMap<>();
+    private static final List<String> scenarioLines = new ArrayList<>();
+
+    private static final ThreadLocal<Deque<Long>> callStarts = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<ScenarioCommands> currentScenario = new ThreadLocal<>();
+
+    /**
+     * Command count and time of one step text across the run
+     */
+    private static final class StepTotals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    /**
+     * Commands sent while one scenario ran on this thread
+     */
+    private static final class ScenarioCommands {
+        private final String name;
+        private final Map<String, LatencyHistogram> commands = new LinkedHashMap<>();
+        private String step;
+        private long count;
+        private long nanos;
+        private long errors;
+
+        ScenarioCommands(String name) {
+            this.name = name;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return config.isPerformanceLogging() || config.isWorkerScalingEnabled();
+    }
+
+    public static WebDriverListener listener() {
+        return LISTENER;
+    }
+
+    /**
+     * Attribute the following commands on this thread to a scenario
+     */
+    public static void startScenario(String name) {
+        currentScenario.set(new ScenarioCommands(name));
+    }
+
+    /**
+     * Attribute the following commands on this thread to a step of the current scenario
+     */
+    public static void startStep(String stepText) {
+        ScenarioCommands scenario = currentScenario.get();
+        if (scenario != null) {
+            scenario.step = stepText;
+        }
+    }
+
+    /**
+     * Per-command counts and latencies of the current scenario, or null if none were recorded
+     */
+    public static String getScenarioSummary() {
+        ScenarioCommands scenario = currentScenario.get();
+        if (scenario == null || scenario.count == 0) {
+            return null;
+        }
+        StringBuilder summary = new StringBuilder(String.format("WebDriver commands: %d in %.1fms (%d errors)",
+                scenario.count, scenario.nanos / 1_000_000.0, scenario.errors));
+        scenario.commands.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, LatencyHistogram> e) ->
+                        e.getValue().getMeanMillis() * e.getValue().getCount()).reversed())
+                .forEach(e -> summary.append(System.lineSeparator()).append("  ").append(e.getKey())
+                        .append(": ").append(e.getValue().getSummary()));
+        return summary.toString();
+    }
+
+    /**
+     * Close the current scenario and add its totals to the run report
+     */
+    public static void endScenario() {
+        ScenarioCommands scenario = currentScenario.get();
+        currentScenario.remove();
+        if (scenario == null || scenario.count == 0) {
+            return;
+        }
+        synchronized (scenarioLines) {
+            scenarioLines.add(String.format("  %s: %d commands, %.1fms, %d errors",
+                    scenario.name, scenario.count, scenario.nanos / 1_000_000.0, scenario.errors));
+        }
+    }
+
+    public static String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("WebDriver command report at %s%n", LocalDateTime.now()));
+        report.append("Commands:").append(System.lineSeparator());
+        new TreeMap<>(commands).forEach((command, histogram) -> {
+            LongAdder failed = errors.get(command);
+            report.append(String.format("  %s: %s errors=%d%n", command, histogram.getSummary(),
+                    failed == null ? 0 : failed.sum()));
+        });
+        report.append("Scenarios:").append(System.lineSeparator());
+        synchronized (scenarioLines) {
+            scenarioLines.forEach(line -> report.append(line).append(System.lineSeparator()));
+        }
+        report.append("Steps by WebDriver time:").append(System.lineSeparator());
+        steps.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, StepTotals> e) -> e.getValue().nanos.sum()).reversed())
+                .limit(20)
+                .forEach(e -> report.append(String.format("  %s: %d commands, %.1fms%n", e.getKey(),
+                        e.getValue().count.sum(), e.getValue().nanos.sum() / 1_000_000.0)));
+        return report.toString();
+    }
+
+    /**
+     * Write the report to webdriver-commands.txt under the report path
+     */
+    public static void writeReport() {
+        if (commands.isEmpty()) {
+            return;
+        }
+        Path path = Paths.get(config.getReportPath(), "webdriver-commands.txt");
+        try {
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, getReport(), StandardCharsets.UTF_8);
+            logger.info("WebDriver command report written to {}", path);
+        } catch (IOException e) {
+            logger.error("Failed to write WebDriver command report: {}", path, e);
+        }
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        callStarts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method.getName(), false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method.getName(), true);
+    }
+
+    private static void record(String command, boolean failed) {
+        Long start = callStarts.get().poll();
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        WorkerScaler.recordCommandLatency(nanos);
+        commands.computeIfAbsent(command, k -> new LatencyHistogram()).recordNanos(nanos);
+        if (failed) {
+            errors.computeIfAbsent(command, k -> new LongAdder()).increment();
+        }
+
+        ScenarioCommands scenario = currentScenario.get();
+        if (scenario == null) {
+            return;
+        }
+        scenario.commands.computeIfAbsent(command, k -> new LatencyHistogram()).recordNanos(nanos);
+        scenario.count++;
+        scenario.nanos += nanos;
+        if (failed) {
+            scenario.errors++;
+        }
+        if (scenario.step != null) {
+            StepTotals totals = steps.computeIfAbsent(scenario.step, k -> new StepTotals());
+            totals.count.increment();
+            totals.nanos.add(nanos);
+        }
+    }
+}
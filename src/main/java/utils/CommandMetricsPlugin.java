@@ -0,0 +1,33 @@
+package utils;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin that tells {@link CommandMetrics} which scenario and step the current
+ * thread is running, so WebDriver commands can be attributed to them. Events are
+ * received on the thread executing the scenario.
+ */
+public class CommandMetricsPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!CommandMetrics.isEnabled()) {
+            return;
+        }
+        publisher.registerHandlerFor(TestCaseStarted.class,
+                event -> CommandMetrics.startScenario(event.getTestCase().getName()));
+        publisher.registerHandlerFor(TestStepStarted.class, event -> {
+            if (event.getTestStep() instanceof PickleStepTestStep) {
+                PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+                CommandMetrics.startStep(step.getStep().getKeyword() + step.getStep().getText());
+            } else if (event.getTestStep() instanceof HookTestStep) {
+                CommandMetrics.startStep("(" + ((HookTestStep) event.getTestStep()).getHookType() + " hook)");
+            }
+        });
+    }
+}
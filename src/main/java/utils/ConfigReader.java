@@ -7,6 +7,7 @@ import java.util.Properties;
 /**
  * Utility class to read configuration from config.properties file
  */
+@WorkerScoped
 public class ConfigReader {
     
     private Properties properties;
@@ -80,6 +81,58 @@ public class ConfigReader {
         return Integer.parseInt(properties.getProperty("api.timeout", "10"));
     }
     
+    public int getApiPoolMaxTotal() {
+        return Integer.parseInt(properties.getProperty("api.pool.max.total", "50"));
+    }
+    
+    public int getApiPoolMaxPerRoute() {
+        return Integer.parseInt(properties.getProperty("api.pool.max.per.route", "20"));
+    }
+    
+    public long getApiKeepAlive() {
+        return Long.parseLong(properties.getProperty("api.keepalive", "30"));
+    }
+    
+    public String getApiMode() {
+        return System.getProperty("api.mode", properties.getProperty("api.mode", "live")).trim().toLowerCase();
+    }
+    
+    public String getApiRecordingsDir() {
+        return properties.getProperty("api.recordings.dir", "src/test/resources/api-recordings");
+    }
+    
+    public int getApiStubPort() {
+        return Integer.parseInt(properties.getProperty("api.stub.port", "0"));
+    }
+    
+    public String getApiStubLatency() {
+        return System.getProperty("api.stub.latency", properties.getProperty("api.stub.latency", "none"));
+    }
+    
+    public int getApiAsyncMaxConcurrency() {
+        return Integer.parseInt(properties.getProperty("api.async.max.concurrency", "20"));
+    }
+    
+    public boolean isApiCacheEnabled() {
+        return Boolean.parseBoolean(System.getProperty("api.cache.enabled", properties.getProperty("api.cache.enabled", "false")));
+    }
+    
+    public int getApiCacheMaxEntries() {
+        return Integer.parseInt(properties.getProperty("api.cache.max.entries", "200"));
+    }
+    
+    public long getApiCacheTtl() {
+        return Long.parseLong(properties.getProperty("api.cache.ttl", "0"));
+    }
+    
+    public String getApiCacheVaryHeaders() {
+        return properties.getProperty("api.cache.vary.headers", "Authorization,Accept,Accept-Language");
+    }
+    
+    public int getApiLogBodyMax() {
+        return Integer.parseInt(properties.getProperty("api.log.body.max", "1000"));
+    }
+    
     public String getDatabaseDriver() {
         return properties.getProperty("db.driver");
     }
@@ -127,4 +180,125 @@ public class ConfigReader {
     public boolean isDisableNotifications() {
         return Boolean.parseBoolean(properties.getProperty("disable.notifications", "true"));
     }
+    
+    public boolean isResultCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("result.cache.enabled", "false"));
+    }
+    
+    public boolean isResultCacheForced() {
+        return Boolean.parseBoolean(System.getProperty("result.cache.force",
+                properties.getProperty("result.cache.force", "false")));
+    }
+    
+    public String getResultCacheDir() {
+        return properties.getProperty("result.cache.dir", "test-output/result-cache/");
+    }
+    
+    public String getAppVersion() {
+        return System.getProperty("app.version", properties.getProperty("app.version", ""));
+    }
+    
+    public boolean isWorkerScalingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("worker.scaling.enabled", "false"));
+    }
+    
+    public int getMinWorkers() {
+        return Integer.parseInt(properties.getProperty("worker.min", "1"));
+    }
+    
+    public int getMaxWorkers() {
+        return Integer.parseInt(properties.getProperty("worker.max", "10"));
+    }
+    
+    public int getWorkerScalingInterval() {
+        return Integer.parseInt(properties.getProperty("worker.scaling.interval", "10"));
+    }
+    
+    public double getWorkerMaxLoadPerCpu() {
+        return Double.parseDouble(properties.getProperty("worker.max.load.per.cpu", "1.0"));
+    }
+    
+    public long getWorkerMinFreeMemoryMb() {
+        return Long.parseLong(properties.getProperty("worker.min.free.memory.mb", "1024"));
+    }
+    
+    public long getWorkerMemoryPerBrowserMb() {
+        return Long.parseLong(properties.getProperty("worker.memory.per.browser.mb", "512"));
+    }
+    
+    public double getWorkerLatencyDegradationFactor() {
+        return Double.parseDouble(properties.getProperty("worker.latency.degradation.factor", "2.0"));
+    }
+    
+    public boolean isBackgroundSharingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("background.sharing.enabled", "false"));
+    }
+    
+    public boolean isFastFillEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("fast.fill.enabled", "false"));
+    }
+    
+    public long getSettleTimeoutMs() {
+        return Long.parseLong(properties.getProperty("settle.timeout.ms", "3000"));
+    }
+    
+    public long getNavigationBudget() {
+        return Long.parseLong(properties.getProperty("navigation.budget.seconds", "8"));
+    }
+    
+    public double getLocatorSlowThresholdMs() {
+        return Double.parseDouble(properties.getProperty("locator.slow.threshold.ms", "50"));
+    }
+    
+    public boolean isStateSeedingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("state.seeding.enabled", "true"));
+    }
+    
+    public boolean isSmokeFirstScheduling() {
+        return Boolean.parseBoolean(properties.getProperty("schedule.smoke.first", "false"));
+    }
+    
+    public boolean isFailFastEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("failfast.enabled", "false"));
+    }
+    
+    public int getFailFastMaxFailures() {
+        return Integer.parseInt(properties.getProperty("failfast.max.failures", "5"));
+    }
+    
+    public int getDatabasePoolMaxSize() {
+        return Integer.parseInt(properties.getProperty("db.pool.max.size", "10"));
+    }
+    
+    public int getDatabasePoolIdleTimeout() {
+        return Integer.parseInt(properties.getProperty("db.pool.idle.timeout", "300"));
+    }
+    
+    public int getDatabaseStatementCacheSize() {
+        return Integer.parseInt(properties.getProperty("db.statement.cache.size", "50"));
+    }
+    
+    public int getDatabaseFetchSize() {
+        return Integer.parseInt(properties.getProperty("db.fetch.size", "500"));
+    }
+    
+    public int getDatabaseBatchSize() {
+        return Integer.parseInt(properties.getProperty("db.batch.size", "500"));
+    }
+    
+    public boolean isScenarioTransactionsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("db.scenario.transactions", "false"));
+    }
+    
+    public int getDatabaseWaitTimeout() {
+        return Integer.parseInt(properties.getProperty("db.wait.timeout", "10"));
+    }
+    
+    public long getDatabaseWaitInitialPoll() {
+        return Long.parseLong(properties.getProperty("db.wait.initial.poll", "50"));
+    }
+    
+    public long getDatabaseWaitMaxPoll() {
+        return Long.parseLong(properties.getProperty("db.wait.max.poll", "1000"));
+    }
 }
@@ -0,0 +1,455 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded JDBC connection pool used by {@link DatabaseUtil}.
+ *
+ * Connections are handed out to one thread at a time, validated on borrow when they
+ * have been idle for a while, and closed by a background evictor once idle for longer
+ * than the idle timeout. Borrowers wait up to the borrow timeout when the pool is at
+ * its maximum size. Each connection keeps a bounded LRU cache of prepared statements
+ * keyed by SQL text; a statement whose result set is still being read (e.g. by a
+ * {@link DatabaseUtil#stream} cursor) is marked in use, so it is neither evicted nor
+ * handed out again until it is released. Borrow wait, active/idle counts and statement cache hits/misses
+ * are exposed as metrics.
+ */
+public class ConnectionPool {
+    private static final Logger logger = LogManager.getLogger(ConnectionPool.class);
+    private static final long VALIDATE_AFTER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutNanos;
+    private final long idleTimeoutNanos;
+    private final int statementCacheSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+    private int total;
+    private boolean closed;
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+
+    /**
+     * Cache entry: a prepared statement and whether an open cursor still reads from it
+     */
+    private static final class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * A pooled physical connection with its prepared statement cache
+     */
+    public class PooledConnection {
+        private final Connection connection;
+        private final Map<String, CachedStatement> statements;
+        private long lastUsedNanos = System.nanoTime();
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    // Evict the least recently used statements that no open cursor is reading
+                    // from, never the one just inserted (the tail). When every older statement
+                    // is in use the cache grows past its size until cursors are released.
+                    int candidates = size() - 1;
+                    Iterator<CachedStatement> iterator = values().iterator();
+                    while (size() > statementCacheSize && candidates-- > 0) {
+                        CachedStatement cached = iterator.next();
+                        if (!cached.inUse) {
+                            closeQuietly(cached.statement);
+                            iterator.remove();
+                        }
+                    }
+                    return false;
+                }
+            };
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Get a cached prepared statement for the SQL text, preparing it on a miss.
+         * Parameters of a cached statement are cleared before it is returned. While the
+         * cached statement is in use, a new uncached statement is returned instead.
+         */
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && !cached.statement.isClosed()) {
+                if (cached.inUse) {
+                    statementMisses.increment();
+                    return connection.prepareStatement(sql);
+                }
+                statementHits.increment();
+                cached.statement.clearParameters();
+                return cached.statement;
+            }
+            statementMisses.increment();
+            PreparedStatement statement = connection.prepareStatement(sql);
+            if (statementCacheSize > 0) {
+                statements.put(sql, new CachedStatement(statement));
+            }
+            return statement;
+        }
+
+        /**
+         * Check if a statement is owned by the cache (and must not be closed by the caller)
+         */
+        public boolean isCached(String sql, PreparedStatement statement) {
+            CachedStatement cached = statements.get(sql);
+            return cached != null && cached.statement == statement;
+        }
+
+        /**
+         * Mark a cached statement as read by an open cursor, or release it again
+         */
+        public void setInUse(String sql, PreparedStatement statement, boolean inUse) {
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && cached.statement == statement) {
+                cached.inUse = inUse;
+            }
+        }
+
+        /**
+         * Drop a statement from the cache, e.g. after it failed; a statement in use is kept
+         */
+        public void evictStatement(String sql) {
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && !cached.inUse) {
+                statements.remove(sql);
+                closeQuietly(cached.statement);
+            }
+        }
+
+        void close() {
+            statements.values().forEach(cached -> closeQuietly(cached.statement));
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing pooled connection", e);
+            }
+        }
+    }
+
+    public ConnectionPool(String driver, String url, String username, String password,
+                          int maxSize, int borrowTimeoutSeconds, int idleTimeoutSeconds, int statementCacheSize) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.maxSize = Math.max(1, maxSize);
+        this.borrowTimeoutNanos = TimeUnit.SECONDS.toNanos(borrowTimeoutSeconds);
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+
+        if (driver != null && !driver.isBlank()) {
+            try {
+                Class.forName(driver);
+            } catch (ClassNotFoundException e) {
+                logger.error("Database driver not found: {}", driver, e);
+            }
+        }
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeoutSeconds / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.SECONDS);
+        logger.info("Database connection pool created: url={}, maxSize={}, borrowTimeout={}s, idleTimeout={}s",
+                url, this.maxSize, borrowTimeoutSeconds, idleTimeoutSeconds);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the borrow timeout when the pool is exhausted
+     */
+    public PooledConnection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + borrowTimeoutNanos;
+        while (true) {
+            PooledConnection candidate = null;
+            boolean create = false;
+            lock.lock();
+            try {
+                while (candidate == null && !create) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    candidate = idle.pollFirst();
+                    if (candidate == null) {
+                        if (total < maxSize) {
+                            total++;
+                            create = true;
+                        } else {
+                            long remaining = deadline - System.nanoTime();
+                            if (remaining <= 0) {
+                                timeoutCount.increment();
+                                throw new SQLTimeoutException("Timed out after "
+                                        + TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos)
+                                        + "ms waiting for a database connection (pool max size " + maxSize + ")");
+                            }
+                            available.awaitNanos(remaining);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                candidate = open();
+            } else if (!isValid(candidate)) {
+                discard(candidate);
+                continue;
+            }
+
+            long waited = System.nanoTime() - start;
+            borrowCount.increment();
+            borrowWaitNanos.add(waited);
+            maxBorrowWaitNanos.accumulateAndGet(waited, Math::max);
+            return candidate;
+        }
+    }
+
+    /**
+     * Return a borrowed connection to the pool
+     */
+    public void release(PooledConnection pooled) {
+        if (pooled == null) {
+            return;
+        }
+        boolean healthy;
+        try {
+            healthy = !pooled.connection.isClosed();
+            if (healthy && !pooled.connection.getAutoCommit()) {
+                pooled.connection.rollback();
+                pooled.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.warn("Discarding connection that failed to reset: {}", e.getMessage());
+            healthy = false;
+        }
+        if (!healthy) {
+            discard(pooled);
+            return;
+        }
+
+        pooled.lastUsedNanos = System.nanoTime();
+        lock.lock();
+        try {
+            if (!closed) {
+                idle.addFirst(pooled);
+                available.signal();
+                return;
+            }
+            total--;
+        } finally {
+            lock.unlock();
+        }
+        pooled.close();
+    }
+
+    /**
+     * Close idle connections and refuse further borrows
+     */
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        toClose.forEach(PooledConnection::close);
+        evictor.shutdownNow();
+        logger.info("Database connection pool closed. {}", getMetricsSummary());
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ========== METRICS ==========
+
+    public int getActiveCount() {
+        lock.lock();
+        try {
+            return total - idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    public double getAverageBorrowWaitMillis() {
+        long count = borrowCount.sum();
+        return count == 0 ? 0 : borrowWaitNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxBorrowWaitMillis() {
+        return maxBorrowWaitNanos.get() / 1_000_000.0;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public long getStatementCacheHits() {
+        return statementHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementMisses.sum();
+    }
+
+    public String getMetricsSummary() {
+        return String.format("Pool metrics: active=%d idle=%d max=%d | borrows=%d avgWait=%.2fms maxWait=%.2fms "
+                        + "timeouts=%d | created=%d evicted=%d | statementCache hits=%d misses=%d",
+                getActiveCount(), getIdleCount(), maxSize, getBorrowCount(), getAverageBorrowWaitMillis(),
+                getMaxBorrowWaitMillis(), getTimeoutCount(), createdCount.sum(), evictedCount.sum(),
+                getStatementCacheHits(), getStatementCacheMisses());
+    }
+
+    // ========== INTERNALS ==========
+
+    private PooledConnection open() throws SQLException {
+        try {
+            Connection connection = java.sql.DriverManager.getConnection(url, username, password);
+            createdCount.increment();
+            logger.debug("Opened new pooled connection to {}", url);
+            return new PooledConnection(connection);
+        } catch (SQLException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        if (System.nanoTime() - pooled.lastUsedNanos < VALIDATE_AFTER_IDLE_NANOS) {
+            return true;
+        }
+        try {
+            return pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        pooled.close();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing cached statement", e);
+        }
+    }
+
+    private void evictIdle() {
+        List<PooledConnection> expired = new ArrayList<>();
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Iterator<PooledConnection> iterator = idle.descendingIterator();
+            while (iterator.hasNext()) {
+                PooledConnection pooled = iterator.next();
+                if (now - pooled.lastUsedNanos > idleTimeoutNanos) {
+                    iterator.remove();
+                    total--;
+                    expired.add(pooled);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!expired.isEmpty()) {
+            expired.forEach(PooledConnection::close);
+            evictedCount.add(expired.size());
+            logger.debug("Evicted {} idle database connections", expired.size());
+        }
+    }
+}
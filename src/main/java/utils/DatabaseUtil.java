@@ -3,184 +3,631 @@ package utils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.sql.*;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Database Utility for connecting to and executing queries against a database.
  * Supports MySQL and other JDBC-compatible databases.
+ * Connections come from a bounded, thread-safe {@link ConnectionPool}, so parallel
+ * scenarios can run database checks concurrently.
+ * Large results can be processed in constant memory with the streaming API
+ * ({@link #query}, {@link #stream}) and the short-circuit helpers
+ * ({@link #exists}, {@link #first}, {@link #count}).
+ * Rows can be mapped straight onto records or POJOs with {@link #queryForList},
+ * {@link #queryForObject} and {@link #queryAs}, using mappers compiled once per
+ * result shape by {@link RowMapperFactory}.
+ * Test data is seeded with {@link #bulkInsert}, which batches the inserts inside a
+ * single transaction, and reset with {@link #truncateTable}.
+ * With db.scenario.transactions enabled, every scenario runs its database work on
+ * one connection inside a transaction that {@link #rollbackScenarioTransaction()}
+ * discards at teardown, so parallel scenarios never see or clean up each other's data.
+ * Eventually-consistent backend writes are asserted with {@link #waitForRow},
+ * {@link #waitForValue} and {@link #waitForCount}, which poll with exponential backoff.
  */
 public class DatabaseUtil {
     private static final Logger logger = LogManager.getLogger(DatabaseUtil.class);
-    private static Connection connection;
+    private static ConnectionPool pool;
     private static ConfigReader config = new ConfigReader();
     private static final String DB_DRIVER = config.getDatabaseDriver();
     private static final String DB_URL = config.getDatabaseUrl();
     private static final String DB_USERNAME = config.getDatabaseUsername();
     private static final String DB_PASSWORD = config.getDatabasePassword();
+    private static final ThreadLocal<ScenarioTransaction> scenarioTransaction = new ThreadLocal<>();
 
     /**
-     * Establish database connection
+     * Connection bound to the current scenario thread, borrowed on first use
+     */
+    private static class ScenarioTransaction {
+        private ConnectionPool.PooledConnection connection;
+    }
+
+    /**
+     * Work performed with a borrowed connection
+     */
+    @FunctionalInterface
+    private interface ConnectionCallback<T> {
+        T doWith(ConnectionPool.PooledConnection connection) throws SQLException;
+    }
+
+    /**
+     * Condition checked against the result of one poll of a database wait
+     */
+    @FunctionalInterface
+    private interface ResultCondition {
+        boolean test(ResultSet resultSet) throws SQLException;
+    }
+
+    /**
+     * Work performed with a bound prepared statement
+     */
+    @FunctionalInterface
+    private interface StatementCallback<T> {
+        T doWith(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * Establish database connection pool and verify that a connection can be opened
      */
     public static void connect() {
         try {
-            Class.forName(DB_DRIVER);
-            connection = java.sql.DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
+            ConnectionPool.PooledConnection pooled = getPool().borrow();
+            getPool().release(pooled);
             logger.info("Database connection established successfully");
-        } catch (ClassNotFoundException e) {
-            logger.error("Database driver not found: {}", DB_DRIVER, e);
         } catch (SQLException e) {
             logger.error("Failed to connect to database: {}", DB_URL, e);
         }
     }
 
     /**
-     * Close database connection
+     * Close database connection pool
      */
-    public static void disconnect() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                logger.info("Database connection closed");
+    public static synchronized void disconnect() {
+        if (pool != null && !pool.isClosed()) {
+            pool.close();
+            logger.info("Database connection closed");
+        }
+        pool = null;
+    }
+
+    /**
+     * Check if connection pool is active
+     */
+    public static synchronized boolean isConnected() {
+        return pool != null && !pool.isClosed();
+    }
+
+    /**
+     * Get the connection pool (created on first use) for metrics such as
+     * active/idle counts, borrow wait times and statement cache hits/misses
+     */
+    public static synchronized ConnectionPool getPool() {
+        if (pool == null || pool.isClosed()) {
+            pool = new ConnectionPool(DB_DRIVER, DB_URL, DB_USERNAME, DB_PASSWORD,
+                    config.getDatabasePoolMaxSize(), config.getDatabaseConnectionTimeout(),
+                    config.getDatabasePoolIdleTimeout(), config.getDatabaseStatementCacheSize());
+        }
+        return pool;
+    }
+
+    /**
+     * Callback invoked for every row of a streaming query
+     */
+    @FunctionalInterface
+    public interface RowCallback {
+        void accept(ResultRow row) throws SQLException;
+    }
+
+    private static ConnectionPool.PooledConnection borrowConnection() throws SQLException {
+        ScenarioTransaction transaction = scenarioTransaction.get();
+        if (transaction == null) {
+            return getPool().borrow();
+        }
+        if (transaction.connection == null) {
+            ConnectionPool.PooledConnection pooled = getPool().borrow();
+            try {
+                pooled.getConnection().setAutoCommit(false);
+            } catch (SQLException e) {
+                getPool().release(pooled);
+                throw e;
             }
-        } catch (SQLException e) {
-            logger.error("Error closing database connection", e);
+            transaction.connection = pooled;
+            logger.debug("Scenario transaction started on thread {}", Thread.currentThread().getName());
+        }
+        return transaction.connection;
+    }
+
+    private static void releaseConnection(ConnectionPool.PooledConnection pooled) {
+        ScenarioTransaction transaction = scenarioTransaction.get();
+        if (transaction != null && transaction.connection == pooled) {
+            return;
         }
+        getPool().release(pooled);
     }
 
+    // ========== SCENARIO TRANSACTIONS ==========
+
     /**
-     * Check if connection is active
+     * Route this thread's database work through one connection in an open transaction
+     * until {@link #rollbackScenarioTransaction()}. No-op unless db.scenario.transactions
+     * is enabled; the connection is only borrowed once the scenario touches the database.
      */
-    public static boolean isConnected() {
+    public static void beginScenarioTransaction() {
+        if (config.isScenarioTransactionsEnabled() && scenarioTransaction.get() == null) {
+            scenarioTransaction.set(new ScenarioTransaction());
+        }
+    }
+
+    /**
+     * Roll back everything the scenario wrote and return its connection to the pool
+     */
+    public static void rollbackScenarioTransaction() {
+        ScenarioTransaction transaction = scenarioTransaction.get();
+        scenarioTransaction.remove();
+        if (transaction == null || transaction.connection == null) {
+            return;
+        }
         try {
-            return connection != null && !connection.isClosed();
+            transaction.connection.getConnection().rollback();
+            logger.debug("Scenario transaction rolled back on thread {}", Thread.currentThread().getName());
         } catch (SQLException e) {
-            logger.error("Error checking connection status", e);
-            return false;
+            logger.warn("Failed to roll back scenario transaction: {}", e.getMessage());
+        } finally {
+            getPool().release(transaction.connection);
         }
     }
 
     /**
-     * Execute SELECT query and return results as List of Maps
+     * Check if the current thread's database work is inside a scenario transaction
      */
-    public static List<Map<String, String>> executeQuery(String query) {
-        List<Map<String, String>> resultList = new ArrayList<>();
+    public static boolean isInScenarioTransaction() {
+        return scenarioTransaction.get() != null;
+    }
+
+    /**
+     * Run work on a pooled connection and return it to the pool afterwards
+     */
+    private static <T> T withConnection(ConnectionCallback<T> callback) throws SQLException {
+        ConnectionPool.PooledConnection pooled = borrowConnection();
         try {
-            if (!isConnected()) {
-                connect();
-            }
+            return callback.doWith(pooled);
+        } finally {
+            releaseConnection(pooled);
+        }
+    }
 
-            Statement statement = connection.createStatement();
-            ResultSet resultSet = statement.executeQuery(query);
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            int columnCount = metaData.getColumnCount();
+    /**
+     * Get the cached statement for the SQL text, reset its limits and bind the parameters
+     */
+    private static PreparedStatement prepare(ConnectionPool.PooledConnection pooled, String sql, Object[] params)
+            throws SQLException {
+        PreparedStatement statement = pooled.prepareStatement(sql);
+        statement.setMaxRows(0);
+        statement.setFetchSize(config.getDatabaseFetchSize());
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+        return statement;
+    }
 
-            while (resultSet.next()) {
-                Map<String, String> row = new HashMap<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnName(i);
-                    String value = resultSet.getString(i);
-                    row.put(columnName, value);
+    /**
+     * Run work with a cached prepared statement for the SQL text, bound to the parameters
+     */
+    private static <T> T withStatement(String sql, Object[] params, StatementCallback<T> callback) throws SQLException {
+        return withConnection(pooled -> {
+            PreparedStatement statement = prepare(pooled, sql, params);
+            try {
+                return callback.doWith(statement);
+            } catch (SQLException e) {
+                pooled.evictStatement(sql);
+                throw e;
+            } finally {
+                if (!pooled.isCached(sql, statement)) {
+                    statement.close();
                 }
-                resultList.add(row);
             }
+        });
+    }
 
-            resultSet.close();
-            statement.close();
+    /**
+     * Execute SELECT query (optionally with ? parameters) and return results as List of Maps
+     */
+    public static List<Map<String, String>> executeQuery(String query, Object... params) {
+        try {
+            List<Map<String, String>> resultList = withStatement(query, params, statement -> {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return toMaps(resultSet);
+                }
+            });
             logger.debug("Query executed successfully. Rows returned: {}", resultList.size());
+            return resultList;
         } catch (SQLException e) {
             logger.error("Error executing query: {}", query, e);
+            return new ArrayList<>();
         }
-        return resultList;
     }
 
     /**
-     * Execute UPDATE, INSERT, or DELETE query
+     * Execute UPDATE, INSERT, or DELETE query (optionally with ? parameters)
      */
-    public static int executeUpdate(String query) {
-        int rowsAffected = 0;
+    public static int executeUpdate(String query, Object... params) {
         try {
-            if (!isConnected()) {
-                connect();
-            }
-
-            Statement statement = connection.createStatement();
-            rowsAffected = statement.executeUpdate(query);
-            statement.close();
+            int rowsAffected = withStatement(query, params, PreparedStatement::executeUpdate);
             logger.info("Update query executed. Rows affected: {}", rowsAffected);
+            return rowsAffected;
         } catch (SQLException e) {
             logger.error("Error executing update query: {}", query, e);
+            return 0;
         }
-        return rowsAffected;
     }
 
     /**
      * Execute query using PreparedStatement (prevents SQL injection)
      */
     public static List<Map<String, String>> executePreparedQuery(String query, Object... params) {
+        return executeQuery(query, params);
+    }
+
+    private static List<Map<String, String>> toMaps(ResultSet resultSet) throws SQLException {
         List<Map<String, String>> resultList = new ArrayList<>();
-        try {
-            if (!isConnected()) {
-                connect();
-            }
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
 
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
-            for (int i = 0; i < params.length; i++) {
-                preparedStatement.setObject(i + 1, params[i]);
+        while (resultSet.next()) {
+            Map<String, String> row = new HashMap<>();
+            for (int i = 1; i <= columnCount; i++) {
+                String columnName = metaData.getColumnName(i);
+                String value = resultSet.getString(i);
+                row.put(columnName, value);
             }
+            resultList.add(row);
+        }
+        return resultList;
+    }
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            int columnCount = metaData.getColumnCount();
+    /**
+     * Get single value from database
+     */
+    public static String getSingleValue(String query, String columnName, Object... params) {
+        try {
+            return withStatement(query, params, statement -> {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? resultSet.getString(columnName) : null;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error getting single value: {}", query, e);
+            return null;
+        }
+    }
+
+    /**
+     * Check if record exists in database
+     */
+    public static boolean recordExists(String query, Object... params) {
+        return exists(query, params);
+    }
+
+    // ========== STREAMING ==========
+
+    /**
+     * Stream the query results row by row to a callback without materialising them.
+     * @return number of rows processed
+     */
+    public static long query(String sql, RowCallback callback, Object... params) {
+        try {
+            long rows = withStatement(sql, params, statement -> {
+                long count = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    ResultRow row = new ResultRow(resultSet);
+                    while (resultSet.next()) {
+                        callback.accept(row);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            logger.debug("Streaming query executed. Rows processed: {}", rows);
+            return rows;
+        } catch (SQLException e) {
+            logger.error("Error executing streaming query: {}", sql, e);
+            return 0;
+        }
+    }
 
-            while (resultSet.next()) {
-                Map<String, String> row = new HashMap<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnName(i);
-                    String value = resultSet.getString(i);
-                    row.put(columnName, value);
+    /**
+     * Lazy stream over the query results. The stream holds a pooled connection until
+     * it is closed, so always use it in try-with-resources. The {@link ResultRow}
+     * is a cursor view: copy values out before the stream advances. Its statement stays
+     * in use until then, so other queries on the same connection (e.g. within the scenario
+     * transaction) neither evict nor re-execute it.
+     */
+    public static Stream<ResultRow> stream(String sql, Object... params) {
+        ConnectionPool.PooledConnection pooled = null;
+        PreparedStatement statement = null;
+        try {
+            pooled = borrowConnection();
+            statement = prepare(pooled, sql, params);
+            ResultSet resultSet = statement.executeQuery();
+            pooled.setInUse(sql, statement, true);
+            ResultRow row = new ResultRow(resultSet);
+
+            Spliterator<ResultRow> cursor = new Spliterators.AbstractSpliterator<ResultRow>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super ResultRow> action) {
+                    try {
+                        if (!resultSet.next()) {
+                            return false;
+                        }
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Error reading results of query: " + sql, e);
+                    }
+                    action.accept(row);
+                    return true;
+                }
+            };
+            ConnectionPool.PooledConnection owner = pooled;
+            PreparedStatement ownedStatement = statement;
+            return StreamSupport.stream(cursor, false).onClose(() -> closeCursor(owner, sql, ownedStatement, resultSet));
+        } catch (SQLException e) {
+            logger.error("Error executing streaming query: {}", sql, e);
+            if (pooled != null) {
+                if (statement != null && !pooled.isCached(sql, statement)) {
+                    try {
+                        statement.close();
+                    } catch (SQLException closeError) {
+                        logger.debug("Error closing streaming statement", closeError);
+                    }
                 }
-                resultList.add(row);
+                pooled.evictStatement(sql);
+                releaseConnection(pooled);
             }
+            return Stream.empty();
+        }
+    }
 
+    private static void closeCursor(ConnectionPool.PooledConnection pooled, String sql, PreparedStatement statement,
+                                    ResultSet resultSet) {
+        try {
+            pooled.setInUse(sql, statement, false);
             resultSet.close();
-            preparedStatement.close();
-            logger.debug("Prepared query executed successfully. Rows returned: {}", resultList.size());
+            if (!pooled.isCached(sql, statement)) {
+                statement.close();
+            }
         } catch (SQLException e) {
-            logger.error("Error executing prepared query", e);
+            logger.debug("Error closing streaming cursor", e);
+        } finally {
+            releaseConnection(pooled);
         }
-        return resultList;
     }
 
     /**
-     * Get single value from database
+     * Check if the query returns at least one row (fetches at most one row)
      */
-    public static String getSingleValue(String query, String columnName) {
-        String value = null;
-        List<Map<String, String>> results = executeQuery(query);
-        if (!results.isEmpty()) {
-            value = results.get(0).get(columnName);
+    public static boolean exists(String sql, Object... params) {
+        try {
+            return withStatement(sql, params, statement -> {
+                statement.setMaxRows(1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error checking record exists: {}", sql, e);
+            return false;
         }
-        return value;
     }
 
     /**
-     * Check if record exists in database
+     * First row of the query, if any (fetches at most one row)
+     */
+    public static Optional<Map<String, String>> first(String sql, Object... params) {
+        try {
+            return withStatement(sql, params, statement -> {
+                statement.setMaxRows(1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? Optional.of(new ResultRow(resultSet).toMap()) : Optional.empty();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error fetching first row: {}", sql, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Number of rows the query returns, counted by the database without transferring them
+     */
+    public static long count(String sql, Object... params) {
+        String countSql = "SELECT COUNT(*) FROM (" + sql + ") counted_rows";
+        try {
+            return withStatement(countSql, params, statement -> {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? resultSet.getLong(1) : 0L;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error counting rows: {}", sql, e);
+            return 0;
+        }
+    }
+
+    // ========== WAITS ==========
+
+    /**
+     * Wait until the query returns at least one row (timeout db.wait.timeout)
+     */
+    public static boolean waitForRow(String sql, Object... params) {
+        return waitForRow(Duration.ofSeconds(config.getDatabaseWaitTimeout()), sql, params);
+    }
+
+    public static boolean waitForRow(Duration timeout, String sql, Object... params) {
+        return pollUntil(timeout, sql, params, ResultSet::next);
+    }
+
+    /**
+     * Wait until the first column of the first row equals the expected value (timeout db.wait.timeout)
+     */
+    public static boolean waitForValue(String sql, String expected, Object... params) {
+        return waitForValue(Duration.ofSeconds(config.getDatabaseWaitTimeout()), sql, expected, params);
+    }
+
+    public static boolean waitForValue(Duration timeout, String sql, String expected, Object... params) {
+        return pollUntil(timeout, sql, params,
+                resultSet -> resultSet.next() && Objects.equals(expected, resultSet.getString(1)));
+    }
+
+    /**
+     * Wait until the query returns exactly the expected number of rows (timeout db.wait.timeout)
+     */
+    public static boolean waitForCount(String sql, long expected, Object... params) {
+        return waitForCount(Duration.ofSeconds(config.getDatabaseWaitTimeout()), sql, expected, params);
+    }
+
+    public static boolean waitForCount(Duration timeout, String sql, long expected, Object... params) {
+        String countSql = "SELECT COUNT(*) FROM (" + sql + ") counted_rows";
+        return pollUntil(timeout, countSql, params, resultSet -> resultSet.next() && resultSet.getLong(1) == expected);
+    }
+
+    /**
+     * Poll the query with one prepared statement until the condition holds or the deadline passes.
+     * The poll interval starts at db.wait.initial.poll ms and doubles up to db.wait.max.poll ms.
+     * Polls hold one connection for the whole wait: the scenario transaction's when one is
+     * active, so they see the scenario's own uncommitted rows without borrowing a second
+     * connection. Inside a transaction, rows committed by others after its first read are only
+     * visible under READ COMMITTED isolation (MySQL defaults to REPEATABLE READ).
+     */
+    private static boolean pollUntil(Duration timeout, String sql, Object[] params, ResultCondition condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = Math.max(1, config.getDatabaseWaitInitialPoll());
+        long maxInterval = Math.max(interval, config.getDatabaseWaitMaxPoll());
+        int polls = 0;
+        boolean satisfied = false;
+        ConnectionPool.PooledConnection pooled = null;
+        PreparedStatement statement = null;
+        try {
+            pooled = borrowConnection();
+            statement = prepare(pooled, sql, params);
+            while (true) {
+                polls++;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (condition.test(resultSet)) {
+                        satisfied = true;
+                        return true;
+                    }
+                }
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    logger.warn("Database wait timed out after {} ms ({} polls): {}",
+                            timeout.toMillis(), polls, sql);
+                    return false;
+                }
+                Thread.sleep(Math.min(interval, remaining));
+                interval = Math.min(interval * 2, maxInterval);
+            }
+        } catch (SQLException e) {
+            logger.error("Error polling database wait query: {}", sql, e);
+            if (pooled != null) {
+                pooled.evictStatement(sql);
+                statement = null;
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Database wait interrupted: {}", sql);
+            return false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            WaitStats.record(WaitStats.DB, elapsed, satisfied, polls);
+            logger.debug("Database wait finished in {} ms after {} polls (satisfied={})",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), polls, satisfied);
+            if (pooled != null) {
+                try {
+                    if (statement != null && !pooled.isCached(sql, statement)) {
+                        statement.close();
+                    }
+                } catch (SQLException e) {
+                    logger.debug("Error closing wait statement", e);
+                }
+                releaseConnection(pooled);
+            }
+        }
+    }
+
+    // ========== TYPED MAPPING ==========
+
+    /**
+     * Map every row onto the target type (record, POJO or single-column scalar)
+     */
+    public static <T> List<T> queryForList(String sql, Class<T> type, Object... params) {
+        List<T> results = new ArrayList<>();
+        queryAs(sql, type, results::add, params);
+        return results;
+    }
+
+    /**
+     * First row mapped onto the target type, if any (fetches at most one row)
      */
-    public static boolean recordExists(String query) {
-        List<Map<String, String>> results = executeQuery(query);
-        return !results.isEmpty();
+    public static <T> Optional<T> queryForObject(String sql, Class<T> type, Object... params) {
+        try {
+            return withStatement(sql, params, statement -> {
+                statement.setMaxRows(1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return Optional.empty();
+                    }
+                    return Optional.ofNullable(RowMapperFactory.forResult(type, resultSet.getMetaData()).map(resultSet));
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error fetching {} from query: {}", type.getSimpleName(), sql, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stream the rows, mapped onto the target type, to a consumer without materialising them.
+     * @return number of rows processed
+     */
+    public static <T> long queryAs(String sql, Class<T> type, Consumer<? super T> consumer, Object... params) {
+        try {
+            return withStatement(sql, params, statement -> {
+                long count = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    RowMapper<T> mapper = RowMapperFactory.forResult(type, resultSet.getMetaData());
+                    while (resultSet.next()) {
+                        consumer.accept(mapper.map(resultSet));
+                        count++;
+                    }
+                }
+                return count;
+            });
+        } catch (SQLException e) {
+            logger.error("Error mapping query results to {}: {}", type.getSimpleName(), sql, e);
+            return 0;
+        }
     }
 
     /**
      * Get row count for a table
      */
     public static int getRowCount(String tableName) {
-        String query = "SELECT COUNT(*) as count FROM " + tableName;
-        String count = getSingleValue(query, "count");
-        return count != null ? Integer.parseInt(count) : 0;
+        String query = "SELECT COUNT(*) FROM " + tableName;
+        return queryForObject(query, Long.class).map(Long::intValue).orElse(0);
     }
 
     /**
@@ -195,4 +642,122 @@ public class DatabaseUtil {
             logger.error("Error clearing table: {}", tableName, e);
         }
     }
+
+    // ========== BULK LOADING ==========
+
+    /**
+     * Insert the rows of a CSV/Excel/stream source into a table
+     */
+    public static BulkLoadResult bulkInsert(String tableName, BulkData data) {
+        try (data) {
+            return bulkInsert(tableName, data.getColumns(), data.getRows());
+        }
+    }
+
+    /**
+     * Insert rows with JDBC batches of db.batch.size inside one transaction.
+     * The whole load is rolled back if any batch fails. Inside a scenario transaction
+     * the load is guarded by a savepoint instead and left uncommitted.
+     * (For MySQL add rewriteBatchedStatements=true to db.url so batches become multi-row inserts.)
+     */
+    public static BulkLoadResult bulkInsert(String tableName, List<String> columns, Stream<Object[]> rows) {
+        String sql = "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", java.util.Collections.nCopies(columns.size(), "?")) + ")";
+        int batchSize = Math.max(1, config.getDatabaseBatchSize());
+        long start = System.nanoTime();
+        try {
+            return withConnection(pooled -> {
+                Connection connection = pooled.getConnection();
+                boolean scenarioScoped = !connection.getAutoCommit();
+                Savepoint savepoint = scenarioScoped ? connection.setSavepoint() : null;
+                connection.setAutoCommit(false);
+                long loaded = 0;
+                int batches = 0;
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    Iterator<Object[]> iterator = rows.iterator();
+                    int pending = 0;
+                    while (iterator.hasNext()) {
+                        Object[] row = iterator.next();
+                        for (int i = 0; i < columns.size(); i++) {
+                            statement.setObject(i + 1, i < row.length ? row[i] : null);
+                        }
+                        statement.addBatch();
+                        if (++pending == batchSize) {
+                            statement.executeBatch();
+                            loaded += pending;
+                            batches++;
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        statement.executeBatch();
+                        loaded += pending;
+                        batches++;
+                    }
+                    if (scenarioScoped) {
+                        connection.releaseSavepoint(savepoint);
+                    } else {
+                        connection.commit();
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    if (scenarioScoped) {
+                        connection.rollback(savepoint);
+                    } else {
+                        connection.rollback();
+                    }
+                    logger.error("Bulk load into {} failed after {} rows - rolled back", tableName, loaded, e);
+                    return new BulkLoadResult(tableName, 0, batches, System.nanoTime() - start, false);
+                } finally {
+                    if (!scenarioScoped) {
+                        connection.setAutoCommit(true);
+                    }
+                }
+                BulkLoadResult result = new BulkLoadResult(tableName, loaded, batches, System.nanoTime() - start, true);
+                logger.info("Bulk load complete - {}", result);
+                return result;
+            });
+        } catch (SQLException e) {
+            logger.error("Bulk load into {} failed", tableName, e);
+            return new BulkLoadResult(tableName, 0, 0, System.nanoTime() - start, false);
+        } finally {
+            rows.close();
+        }
+    }
+
+    /**
+     * Empty a table with TRUNCATE (no per-row delete or undo logging), falling back to
+     * {@link #clearTable} when the database refuses, e.g. because of foreign keys.
+     * Inside a scenario transaction DELETE is always used, because TRUNCATE commits.
+     */
+    public static void truncateTable(String tableName) {
+        if (isInScenarioTransaction()) {
+            clearTable(tableName);
+            return;
+        }
+        try {
+            withConnection(pooled -> {
+                try (Statement statement = pooled.getConnection().createStatement()) {
+                    return statement.executeUpdate("TRUNCATE TABLE " + tableName);
+                }
+            });
+            logger.info("Table {} truncated", tableName);
+        } catch (SQLException e) {
+            logger.warn("TRUNCATE of {} failed ({}), falling back to DELETE", tableName, e.getMessage());
+            clearTable(tableName);
+        }
+    }
+
+    /**
+     * Prepared statement cache hits across all pooled connections
+     */
+    public static long getStatementCacheHits() {
+        return getPool().getStatementCacheHits();
+    }
+
+    /**
+     * Prepared statement cache misses across all pooled connections
+     */
+    public static long getStatementCacheMisses() {
+        return getPool().getStatementCacheMisses();
+    }
 }
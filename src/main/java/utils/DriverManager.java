@@ -8,8 +8,11 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Driver Manager class to initialize and manage WebDriver instances
@@ -17,6 +20,7 @@ import java.time.Duration;
 public class DriverManager {
     
     private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final Set<WebDriver> activeDrivers = ConcurrentHashMap.newKeySet();
     private static ConfigReader config = new ConfigReader();
     
     /**
@@ -26,6 +30,7 @@ public class DriverManager {
     public static WebDriver getDriver() {
         if (driver.get() == null) {
             driver.set(createDriver());
+            activeDrivers.add(driver.get());
         }
         return driver.get();
     }
@@ -35,6 +40,7 @@ public class DriverManager {
      * @return WebDriver instance
      */
     private static WebDriver createDriver() {
+        long startTime = System.currentTimeMillis();
         WebDriver webDriver;
         String browser = config.getBrowser().toLowerCase();
         
@@ -81,6 +87,12 @@ public class DriverManager {
         webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
         webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
         
+        WorkerScaler.recordBrowserStartup(System.currentTimeMillis() - startTime);
+        
+        // Time every WebDriver command when performance logging or worker scaling is on
+        if (CommandMetrics.isEnabled()) {
+            webDriver = new EventFiringDecorator<>(CommandMetrics.listener()).decorate(webDriver);
+        }
         return webDriver;
     }
     
@@ -89,8 +101,24 @@ public class DriverManager {
      */
     public static void quitDriver() {
         if (driver.get() != null) {
+            activeDrivers.remove(driver.get());
             driver.get().quit();
             driver.remove();
         }
     }
+    
+    /**
+     * Quit the WebDriver instances of all threads (end of run)
+     */
+    public static void quitAllDrivers() {
+        for (WebDriver webDriver : activeDrivers) {
+            try {
+                webDriver.quit();
+            } catch (Exception e) {
+                System.out.println("Could not quit driver: " + e.getMessage());
+            }
+        }
+        activeDrivers.clear();
+        driver.remove();
+    }
 }
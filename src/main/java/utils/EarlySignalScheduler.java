@@ -0,0 +1,109 @@
+package utils;
+
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Early-signal scheduling for scenario runs.
+ *
+ * Orders @smoke scenarios ahead of the rest, publishes a partial report as soon as
+ * every smoke scenario has finished, and, with fail-fast enabled, aborts the run once
+ * the configured number of scenarios has failed: queued scenarios are then skipped
+ * before they acquire a browser.
+ */
+public class EarlySignalScheduler {
+    private static final Logger logger = LogManager.getLogger(EarlySignalScheduler.class);
+    private static ConfigReader config = new ConfigReader();
+    private static final String SMOKE_TAG = "@smoke";
+
+    private static final List<String> smokeResults = new ArrayList<>();
+    private static int smokeTotal = -1;
+    private static int failures = 0;
+    private static volatile boolean aborted = false;
+    private static Instant startTime = Instant.now();
+
+    /**
+     * Order the data provider rows so that @smoke scenarios run first (stable otherwise)
+     */
+    public static synchronized Object[][] schedule(Object[][] scenarios) {
+        startTime = Instant.now();
+        List<Object[]> smoke = new ArrayList<>();
+        List<Object[]> rest = new ArrayList<>();
+        for (Object[] row : scenarios) {
+            PickleWrapper pickle = (PickleWrapper) row[0];
+            if (pickle.getPickle().getTags().contains(SMOKE_TAG)) {
+                smoke.add(row);
+            } else {
+                rest.add(row);
+            }
+        }
+        smokeTotal = smoke.size();
+        if (!config.isSmokeFirstScheduling()) {
+            return scenarios;
+        }
+        logger.info("Early-signal scheduling: {} smoke scenarios ahead of {} others", smoke.size(), rest.size());
+        smoke.addAll(rest);
+        return smoke.toArray(new Object[0][]);
+    }
+
+    /**
+     * Check if fail-fast has cancelled the remaining scenarios
+     */
+    public static boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Record a finished scenario
+     */
+    public static synchronized void recordResult(String scenarioName, Collection<String> tags, String status) {
+        if ("FAILED".equals(status)) {
+            failures++;
+            if (config.isFailFastEnabled() && !aborted && failures >= config.getFailFastMaxFailures()) {
+                aborted = true;
+                logger.error("Fail-fast threshold reached ({} failures) - cancelling queued scenarios", failures);
+            }
+        }
+
+        if (tags.contains(SMOKE_TAG) && smokeTotal > 0 && smokeResults.size() < smokeTotal) {
+            smokeResults.add(status + " - " + scenarioName);
+            if (smokeResults.size() == smokeTotal) {
+                publishPartialReport();
+            }
+        }
+    }
+
+    /**
+     * Write the smoke results as soon as the last smoke scenario has finished
+     */
+    private static void publishPartialReport() {
+        long failed = smokeResults.stream().filter(r -> r.startsWith("FAILED")).count();
+        List<String> lines = new ArrayList<>();
+        lines.add("Smoke results (partial report)");
+        lines.add("Finished after: " + Duration.between(startTime, Instant.now()).toSeconds() + "s");
+        lines.add("Smoke scenarios: " + smokeResults.size() + ", failed: " + failed);
+        lines.add("");
+        lines.addAll(smokeResults);
+
+        Path path = Paths.get(config.getReportPath(), "smoke-partial-report.txt");
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(path, lines, StandardCharsets.UTF_8);
+            logger.info("Smoke scenarios finished ({} failed) - partial report: {}", failed, path);
+        } catch (IOException e) {
+            logger.error("Failed to write partial smoke report: {}", path, e);
+        }
+    }
+}
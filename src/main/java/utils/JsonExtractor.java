@@ -0,0 +1,470 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming JSON extraction for API responses.
+ *
+ * Paths use the simple GPath subset of RestAssured's jsonPath: dotted field names, array
+ * indexes ("items[0].name", "[2].id"), "[*]" and implicit traversal of arrays
+ * ("items.name" returns the name of every item, [] for an empty array). Paths are compiled
+ * once and cached.
+ * The body is read with a streaming parser: subtrees that no path can match are skipped
+ * without being built, several paths are resolved in a single pass, and parsing stops as
+ * soon as every single-valued path has been found.
+ *
+ * Results are the ones jsonPath returns: decimals are Float (Double when out of float
+ * range) and integers Integer, Long or BigInteger; a traversal yields null for an element
+ * that lacks the field and skips null elements, or elements whose intermediate field is
+ * missing, as GPath does.
+ *
+ * Expressions outside the subset (functions, filters, negative indexes) fall back to the
+ * RestAssured jsonPath, as do paths that index into or traverse again a list collected by
+ * an array traversal ("items.name[0]", "orders.lines.sku"), which GPath resolves on the
+ * collected (nested) lists.
+ */
+public class JsonExtractor {
+    private static final Logger logger = LogManager.getLogger(JsonExtractor.class);
+    private static final JsonFactory factory = new JsonFactory();
+    private static final Pattern FIELD = Pattern.compile("[A-Za-z0-9_\\-]+");
+    private static final Map<String, CompiledPath> cache = new ConcurrentHashMap<>();
+    private static final CompiledPath UNSUPPORTED = new CompiledPath("", new Object[0]);
+    private static final Object WILDCARD = new Object();
+
+    private enum Match { NONE, PREFIX, SINGLE, ELEMENT, UNRESOLVED }
+
+    /**
+     * Path compiled to segments: String (field), Integer (index) or WILDCARD
+     */
+    public static final class CompiledPath {
+        private final String expression;
+        private final Object[] segments;
+        private final int lastIndex;
+        private final int lastWildcard;
+
+        private CompiledPath(String expression, Object[] segments) {
+            this.expression = expression;
+            this.segments = segments;
+            int last = -1;
+            int wildcard = -1;
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i] instanceof Integer) {
+                    last = i;
+                } else if (segments[i] == WILDCARD) {
+                    wildcard = i;
+                }
+            }
+            this.lastIndex = last;
+            this.lastWildcard = wildcard;
+        }
+
+        public String getExpression() {
+            return expression;
+        }
+
+        /**
+         * Match a location against the path. For ELEMENT (an element of the traversed array)
+         * rest[0] receives the first segment left to resolve inside the element.
+         */
+        private Match match(List<Object> location, int[] rest) {
+            int i = 0;
+            for (int depth = 0; depth < location.size(); depth++) {
+                Object key = location.get(depth);
+                if (key instanceof Integer) {
+                    if (i < segments.length && segments[i] instanceof Integer) {
+                        if (!segments[i].equals(key)) {
+                            return Match.NONE;
+                        }
+                        i++;
+                    } else if (i < segments.length) {
+                        int start = segments[i] == WILDCARD ? i + 1 : i;
+                        if (lastIndex >= start || lastWildcard >= start) {
+                            return Match.UNRESOLVED;
+                        }
+                        if (depth < location.size() - 1) {
+                            // resolved from the materialised element
+                            return Match.NONE;
+                        }
+                        rest[0] = start;
+                        return Match.ELEMENT;
+                    } else {
+                        return Match.NONE;
+                    }
+                } else if (i < segments.length && key.equals(segments[i])) {
+                    i++;
+                } else {
+                    return Match.NONE;
+                }
+            }
+            return i < segments.length ? Match.PREFIX : Match.SINGLE;
+        }
+    }
+
+    /**
+     * Result holder for one path during a pass
+     */
+    private static final class Target {
+        private final CompiledPath path;
+        private final List<Object> values = new ArrayList<>();
+        private Object value;
+        private int restStart;
+        private boolean multi;
+        private boolean fallback;
+        private boolean done;
+
+        Target(CompiledPath path) {
+            this.path = path;
+        }
+
+        Object result() {
+            return multi ? values : value;
+        }
+    }
+
+    /**
+     * Compile (once) a path expression, or return null when it needs the full jsonPath engine
+     */
+    public static CompiledPath compile(String expression) {
+        CompiledPath compiled = cache.computeIfAbsent(expression, JsonExtractor::parse);
+        return compiled == UNSUPPORTED ? null : compiled;
+    }
+
+    /**
+     * Value at the path (Map/List for objects and arrays, List for multi-valued paths)
+     */
+    public static Object extract(Response response, String path) {
+        CompiledPath compiled = compile(path);
+        if (compiled == null) {
+            return response.jsonPath().get(path);
+        }
+        return extract(response.asByteArray(), List.of(compiled)).get(path);
+    }
+
+    /**
+     * Value at the path as a string
+     */
+    public static String extractString(Response response, String path) {
+        CompiledPath compiled = compile(path);
+        if (compiled == null) {
+            return response.jsonPath().getString(path);
+        }
+        Object value = extract(response.asByteArray(), List.of(compiled)).get(path);
+        return value == null ? null : String.valueOf(value);
+    }
+
+    /**
+     * Values of several paths, resolved in one pass over the body
+     */
+    public static Map<String, Object> extractAll(Response response, String... paths) {
+        List<CompiledPath> compiled = new ArrayList<>();
+        List<String> fallback = new ArrayList<>();
+        for (String path : paths) {
+            CompiledPath candidate = compile(path);
+            if (candidate != null) {
+                compiled.add(candidate);
+            } else {
+                fallback.add(path);
+            }
+        }
+        Map<String, Object> results = compiled.isEmpty()
+                ? new LinkedHashMap<>() : extract(response.asByteArray(), compiled);
+        for (String path : fallback) {
+            results.put(path, response.jsonPath().get(path));
+        }
+        return results;
+    }
+
+    /**
+     * Resolve compiled paths against a JSON document in one streaming pass
+     */
+    public static Map<String, Object> extract(byte[] json, List<CompiledPath> paths) {
+        List<Target> targets = new ArrayList<>();
+        for (CompiledPath path : paths) {
+            targets.add(new Target(path));
+        }
+        try (JsonParser parser = factory.createParser(json)) {
+            if (parser.nextToken() != null) {
+                read(parser, new ArrayList<>(), targets);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Response body is not valid JSON: " + e.getMessage(), e);
+        }
+        Map<String, Object> results = new LinkedHashMap<>();
+        JsonPath jsonPath = null;
+        for (Target target : targets) {
+            if (target.fallback) {
+                if (jsonPath == null) {
+                    jsonPath = JsonPath.from(new String(json, StandardCharsets.UTF_8));
+                }
+                logger.debug("Path {} needs GPath list semantics, resolved with jsonPath", target.path.expression);
+                results.put(target.path.expression, jsonPath.get(target.path.expression));
+            } else {
+                results.put(target.path.expression, target.result());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Visit the value at the parser's current token.
+     * @return true once every target is resolved and parsing can stop
+     */
+    private static boolean read(JsonParser parser, List<Object> location, List<Target> targets) throws IOException {
+        List<Target> full = new ArrayList<>();
+        List<Target> elements = new ArrayList<>();
+        List<Target> prefix = new ArrayList<>();
+        classify(location, targets, full, elements, prefix);
+
+        if (!full.isEmpty() || !elements.isEmpty()) {
+            Object value = readValue(parser);
+            full.forEach(target -> assign(target, value));
+            elements.forEach(target -> addElement(target, value));
+            if (!prefix.isEmpty()) {
+                walk(value, location, prefix);
+            }
+            return allDone(targets);
+        }
+        if (prefix.isEmpty()) {
+            parser.skipChildren();
+            return false;
+        }
+
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                location.add(parser.currentName());
+                parser.nextToken();
+                boolean stop = read(parser, location, targets);
+                location.remove(location.size() - 1);
+                if (stop) {
+                    return true;
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            traverse(location, prefix);
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                location.add(index++);
+                boolean stop = read(parser, location, targets);
+                location.remove(location.size() - 1);
+                if (stop) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same matching over an already materialised subtree
+     */
+    private static void walk(Object node, List<Object> location, List<Target> targets) {
+        List<Target> full = new ArrayList<>();
+        List<Target> elements = new ArrayList<>();
+        List<Target> prefix = new ArrayList<>();
+        classify(location, targets, full, elements, prefix);
+        full.forEach(target -> assign(target, node));
+        elements.forEach(target -> addElement(target, node));
+        if (prefix.isEmpty()) {
+            return;
+        }
+        if (node instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) node).entrySet()) {
+                location.add(entry.getKey());
+                walk(entry.getValue(), location, prefix);
+                location.remove(location.size() - 1);
+            }
+        } else if (node instanceof List) {
+            traverse(location, prefix);
+            List<?> list = (List<?>) node;
+            for (int i = 0; i < list.size(); i++) {
+                location.add(i);
+                walk(list.get(i), location, prefix);
+                location.remove(location.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * Entering an array: paths that traverse it are multi-valued even when it is empty
+     */
+    private static void traverse(List<Object> location, List<Target> prefix) {
+        location.add(0);
+        int[] rest = new int[1];
+        for (Target target : prefix) {
+            Match match = target.path.match(location, rest);
+            if (match == Match.ELEMENT) {
+                target.multi = true;
+            } else if (match == Match.UNRESOLVED) {
+                target.fallback = true;
+                target.done = true;
+            }
+        }
+        location.remove(location.size() - 1);
+    }
+
+    private static void classify(List<Object> location, List<Target> targets,
+                                 List<Target> full, List<Target> elements, List<Target> prefix) {
+        int[] rest = new int[1];
+        for (Target target : targets) {
+            if (target.done) {
+                continue;
+            }
+            Match match = target.path.match(location, rest);
+            if (match == Match.UNRESOLVED) {
+                target.fallback = true;
+                target.done = true;
+            } else if (match == Match.PREFIX) {
+                prefix.add(target);
+            } else if (match == Match.ELEMENT) {
+                target.multi = true;
+                target.restStart = rest[0];
+                elements.add(target);
+            } else if (match == Match.SINGLE) {
+                full.add(target);
+            }
+        }
+    }
+
+    private static void assign(Target target, Object value) {
+        if (target.multi) {
+            target.values.add(value);
+        } else {
+            target.value = value;
+            target.done = true;
+        }
+    }
+
+    /**
+     * Resolve the rest of a traversal path inside one array element, with GPath's rules:
+     * null for a missing last field, nothing for a null element or missing intermediate field
+     */
+    private static void addElement(Target target, Object element) {
+        Object value = element;
+        for (int i = target.restStart; i < target.path.segments.length; i++) {
+            if (value instanceof List) {
+                // a second traversal, resolved by jsonPath
+                target.fallback = true;
+                target.done = true;
+                return;
+            }
+            if (!(value instanceof Map)) {
+                return;
+            }
+            value = ((Map<?, ?>) value).get(target.path.segments[i]);
+        }
+        target.values.add(value);
+    }
+
+    /**
+     * Build the value at the parser's current token with jsonPath's types
+     */
+    private static Object readValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            Map<String, Object> object = new LinkedHashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                object.put(name, readValue(parser));
+            }
+            return object;
+        }
+        if (token == JsonToken.START_ARRAY) {
+            List<Object> array = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                array.add(readValue(parser));
+            }
+            return array;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getNumberValue();
+        }
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return decimal(parser.getText());
+        }
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return parser.getBooleanValue();
+        }
+        return null;
+    }
+
+    /**
+     * Float when the value is within float range, otherwise Double (jsonPath's FLOAT_AND_DOUBLE)
+     */
+    private static Object decimal(String text) {
+        double value = Double.parseDouble(text);
+        if (Math.abs(value) <= Float.MAX_VALUE) {
+            return Float.parseFloat(text);
+        }
+        return value;
+    }
+
+    private static boolean allDone(List<Target> targets) {
+        for (Target target : targets) {
+            if (!target.done) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CompiledPath parse(String expression) {
+        String path = expression.trim();
+        if (path.startsWith("$.")) {
+            path = path.substring(2);
+        } else if (path.equals("$")) {
+            path = "";
+        }
+        List<Object> segments = new ArrayList<>();
+        if (!path.isEmpty()) {
+            for (String part : path.split("\\.", -1)) {
+                int bracket = part.indexOf('[');
+                String field = bracket >= 0 ? part.substring(0, bracket) : part;
+                if (!field.isEmpty()) {
+                    if (!FIELD.matcher(field).matches()) {
+                        return UNSUPPORTED;
+                    }
+                    segments.add(field);
+                } else if (bracket < 0) {
+                    return UNSUPPORTED;
+                }
+                String rest = bracket >= 0 ? part.substring(bracket) : "";
+                while (!rest.isEmpty()) {
+                    int close = rest.indexOf(']');
+                    if (!rest.startsWith("[") || close < 0) {
+                        return UNSUPPORTED;
+                    }
+                    String index = rest.substring(1, close).trim();
+                    if (index.equals("*")) {
+                        segments.add(WILDCARD);
+                    } else if (index.matches("\\d+")) {
+                        segments.add(Integer.parseInt(index));
+                    } else {
+                        return UNSUPPORTED;
+                    }
+                    rest = rest.substring(close + 1);
+                }
+            }
+        }
+        return new CompiledPath(expression, segments.toArray());
+    }
+}
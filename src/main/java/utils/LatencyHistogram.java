@@ -0,0 +1,119 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe, fixed-size latency histogram with microsecond resolution.
+ *
+ * Values below 128 microseconds are counted exactly; larger values go into log-linear buckets
+ * (64 per power of two), so every recorded latency up to hours is kept with at most
+ * ~1.6% relative error in constant memory and percentiles can be read at any time.
+ */
+public class LatencyHistogram {
+    private static final int LINEAR_BUCKETS = 128;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int FIRST_EXPONENT = 7;
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        totalMicros.add(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add all values recorded by another histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucket = other.buckets.get(i);
+            if (bucket > 0) {
+                buckets.addAndGet(i, bucket);
+            }
+        }
+        count.add(other.count.sum());
+        totalMicros.add(other.totalMicros.sum());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long total = count.sum();
+        return total == 0 ? 0 : totalMicros.sum() / 1000.0 / total;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * Latency at the given percentile (0-100) in milliseconds
+     */
+    public double getPercentileMillis(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * count, mean, p50, p95, p99 and max
+     */
+    public String getSummary() {
+        return String.format("count=%d mean=%.1fms p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                getCount(), getMeanMillis(), getPercentileMillis(50), getPercentileMillis(95),
+                getPercentileMillis(99), getMaxMillis());
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueIn(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int exponent = FIRST_EXPONENT + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = ((long) (SUB_BUCKETS + subBucket)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
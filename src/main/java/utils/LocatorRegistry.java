@@ -0,0 +1,207 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interned, timed locators for page objects.
+ *
+ * Parameterised locators are built once per distinct value and reused; {@link #dataTest}
+ * builds CSS selectors on the data-test attributes SauceDemo provides. Every lookup made
+ * through a registry locator that finds an element is timed and aggregated per template;
+ * lookups that find nothing are only counted, as their time is spent in the implicit wait
+ * (or an explicit wait's polling) rather than evaluating the selector. {@link #getReport()}
+ * lists the slowest selectors, flags those slower than locator.slow.threshold.ms with a
+ * faster alternative, and adds a hint to selectors using costly XPath patterns (ancestor
+ * axis, text() matching) even while they are fast.
+ */
+public class LocatorRegistry {
+    private static final Logger logger = LogManager.getLogger(LocatorRegistry.class);
+    private static ConfigReader config = new ConfigReader();
+
+    private static final Map<String, TimedBy> locators = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> timings = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> misses = new ConcurrentHashMap<>();
+
+    /**
+     * Locator that delegates to a standard By and records each lookup against its template:
+     * the time of lookups that find an element, the count of those that do not
+     */
+    public static final class TimedBy extends By {
+        private final By delegate;
+        private final String template;
+
+        private TimedBy(By delegate, String template) {
+            this.delegate = delegate;
+            this.template = template;
+        }
+
+        @Override
+        public WebElement findElement(SearchContext context) {
+            long start = System.nanoTime();
+            try {
+                WebElement element = context.findElement(delegate);
+                record(template, System.nanoTime() - start);
+                return element;
+            } catch (NoSuchElementException e) {
+                recordMiss(template);
+                throw e;
+            }
+        }
+
+        @Override
+        public List<WebElement> findElements(SearchContext context) {
+            long start = System.nanoTime();
+            List<WebElement> elements = context.findElements(delegate);
+            if (elements.isEmpty()) {
+                recordMiss(template);
+            } else {
+                record(template, System.nanoTime() - start);
+            }
+            return elements;
+        }
+
+        public By getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    /**
+     * CSS locator from a template such as "#add-to-cart-%s"
+     */
+    public static By css(String template, Object... args) {
+        return intern("css", template, args);
+    }
+
+    /**
+     * XPath locator from a template such as "//div[text()='%s']"
+     */
+    public static By xpath(String template, Object... args) {
+        return intern("xpath", template, args);
+    }
+
+    /**
+     * CSS locator on the data-test attribute, e.g. dataTest("add-to-cart-%s", slug)
+     */
+    public static By dataTest(String template, Object... args) {
+        return intern("css", "[data-test=\"" + template + "\"]", args);
+    }
+
+    /**
+     * data-test / id suffix SauceDemo derives from a product name ("Sauce Labs Backpack" -> "sauce-labs-backpack")
+     */
+    public static String slug(String name) {
+        return name.trim().toLowerCase().replace(' ', '-');
+    }
+
+    public static int size() {
+        return locators.size();
+    }
+
+    /**
+     * Lookup timings per locator template, slowest first, with the count of lookups that found
+     * nothing; [SLOW] marks measured time over the threshold, and costly XPath patterns get a
+     * hint whatever their timing
+     */
+    public static String getReport() {
+        double thresholdMillis = config.getLocatorSlowThresholdMs();
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(timings.entrySet());
+        entries.sort(Comparator.comparingDouble(
+                (Map.Entry<String, LatencyHistogram> e) -> e.getValue().getMeanMillis()).reversed());
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Locator report at %s (%d interned locators, slow threshold %.0fms)%n",
+                LocalDateTime.now(), size(), thresholdMillis));
+        for (Map.Entry<String, LatencyHistogram> entry : entries) {
+            String template = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            String hint = suggest(template);
+            boolean slow = histogram.getMeanMillis() > thresholdMillis;
+            LongAdder missCount = misses.get(template);
+            report.append(String.format("%s %s: %s misses=%d%n", slow ? "[SLOW]" : "      ",
+                    template, histogram.getSummary(), missCount == null ? 0 : missCount.sum()));
+            if (slow) {
+                report.append("         suggestion: ")
+                        .append(hint != null ? hint : "use an id or data-test attribute selector")
+                        .append(System.lineSeparator());
+            } else if (hint != null) {
+                report.append("         hint: ").append(hint).append(System.lineSeparator());
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Write the report to locator-report.txt under the report path
+     */
+    public static void writeReport() {
+        if (timings.isEmpty()) {
+            return;
+        }
+        Path path = Paths.get(config.getReportPath(), "locator-report.txt");
+        try {
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, getReport(), StandardCharsets.UTF_8);
+            logger.info("Locator report written to {}", path);
+        } catch (IOException e) {
+            logger.error("Failed to write locator report: {}", path, e);
+        }
+    }
+
+    private static By intern(String kind, String template, Object[] args) {
+        String value = args.length == 0 ? template : String.format(template, args);
+        return locators.computeIfAbsent(kind + ":" + value, k -> new TimedBy(
+                "xpath".equals(kind) ? By.xpath(value) : By.cssSelector(value), kind + ":" + template));
+    }
+
+    private static void record(String template, long nanos) {
+        timings.computeIfAbsent(template, k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    private static void recordMiss(String template) {
+        timings.computeIfAbsent(template, k -> new LatencyHistogram());
+        misses.computeIfAbsent(template, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Faster alternative for selector patterns that are costly to evaluate in the browser
+     */
+    private static String suggest(String template) {
+        if (!template.startsWith("xpath:")) {
+            return null;
+        }
+        if (template.contains("ancestor::")) {
+            return "ancestor-axis XPath walks up from every text match; use a data-test/id selector on the target, "
+                    + "or locate the container once and search inside it with CSS";
+        }
+        if (template.contains("text()")) {
+            return "text() matching scans every text node; match a data-test or id attribute instead";
+        }
+        if (template.startsWith("xpath://*") || template.contains("//*[")) {
+            return "wildcard XPath checks every element; use a CSS selector with a tag, id or data-test attribute";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,250 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a page transition through a list of fallback strategies (e.g. click, JS click,
+ * direct URL) within one overall time budget (navigation.budget.seconds).
+ *
+ * Each attempt gets an equal share of the remaining budget (the last one gets all of it)
+ * for its action and for the arrival condition; the implicit wait is off meanwhile, so a
+ * findElement miss cannot block past that share. Outcomes are remembered per transition
+ * for the whole run: strategies are tried by success rate, then by mean time to arrive,
+ * and the time spent on failed attempts is reported as wasted. A transition that no
+ * strategy completes within the budget fails with a TimeoutException.
+ */
+public class NavigationEngine {
+    private static final Logger logger = LogManager.getLogger(NavigationEngine.class);
+    private static ConfigReader config = new ConfigReader();
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private static final Map<String, TransitionStats> transitions = new ConcurrentHashMap<>();
+
+    /**
+     * Action of a strategy; it should not block longer than the given timeout
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run(Duration timeout);
+    }
+
+    /**
+     * Named way of performing a transition
+     */
+    public static final class Strategy {
+        private final String name;
+        private final Action action;
+
+        private Strategy(String name, Action action) {
+            this.name = name;
+            this.action = action;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Outcomes of one transition's strategies during the run
+     */
+    private static final class TransitionStats {
+        private final Map<String, LongAdder> successes = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> successNanos = new ConcurrentHashMap<>();
+        private final LongAdder navigations = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+        private final LongAdder wastedNanos = new LongAdder();
+
+        /**
+         * Success rate with one prior success and failure, so an untried strategy ranks
+         * above one that has only failed
+         */
+        double successRate(String strategy) {
+            long success = sum(successes, strategy);
+            return (success + 1.0) / (success + sum(failures, strategy) + 2.0);
+        }
+
+        double meanSuccessNanos(String strategy) {
+            long success = sum(successes, strategy);
+            return success == 0 ? Double.MAX_VALUE : (double) sum(successNanos, strategy) / success;
+        }
+
+        Comparator<String> ranking() {
+            return Comparator.comparingDouble((String name) -> successRate(name)).reversed()
+                    .thenComparingDouble(this::meanSuccessNanos);
+        }
+
+        private static long sum(Map<String, LongAdder> adders, String strategy) {
+            LongAdder adder = adders.get(strategy);
+            return adder == null ? 0 : adder.sum();
+        }
+    }
+
+    public static Strategy strategy(String name, Action action) {
+        return new Strategy(name, action);
+    }
+
+    public static Strategy strategy(String name, Runnable action) {
+        return new Strategy(name, timeout -> action.run());
+    }
+
+    /**
+     * Navigate within the configured budget
+     * @return name of the strategy that reached the page
+     * @throws TimeoutException if no strategy reached the page within the budget
+     */
+    public static String navigate(WebDriver driver, String transition, ExpectedCondition<?> arrived,
+                                  Strategy... strategies) {
+        return navigate(driver, transition, arrived, Duration.ofSeconds(config.getNavigationBudget()), strategies);
+    }
+
+    /**
+     * Navigate within the given budget, trying the historically best strategy first.
+     * The implicit wait is turned off for the attempts and restored afterwards.
+     *
+     * Before each fallback the arrival condition is checked once without waiting, so a
+     * strategy that took effect after its own wait ended is credited and the page is not
+     * navigated again from the destination.
+     * @return name of the strategy that reached the page
+     * @throws TimeoutException if no strategy reached the page within the budget
+     */
+    public static String navigate(WebDriver driver, String transition, ExpectedCondition<?> arrived,
+                                  Duration budget, Strategy... strategies) {
+        return SeleniumActions.withoutImplicitWait(driver,
+                () -> attempt(driver, transition, arrived, budget, strategies));
+    }
+
+    private static String attempt(WebDriver driver, String transition, ExpectedCondition<?> arrived,
+                                  Duration budget, Strategy... strategies) {
+        TransitionStats stats = transitions.computeIfAbsent(transition, k -> new TransitionStats());
+        stats.navigations.increment();
+        List<Strategy> ordered = new ArrayList<>(Arrays.asList(strategies));
+        Comparator<String> ranking = stats.ranking();
+        ordered.sort((a, b) -> ranking.compare(a.name, b.name));
+
+        long deadline = System.nanoTime() + budget.toNanos();
+        Strategy previous = null;
+        long previousNanos = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            if (previous != null) {
+                if (hasArrived(driver, arrived)) {
+                    return succeeded(stats, transition, previous, previousNanos);
+                }
+                failed(stats, transition, previous, previousNanos);
+                previous = null;
+            }
+            Strategy strategy = ordered.get(i);
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            long attemptNanos = i == ordered.size() - 1 ? remaining : remaining / (ordered.size() - i);
+            long start = System.nanoTime();
+            try {
+                strategy.action.run(Duration.ofNanos(attemptNanos));
+                long waitNanos = Math.max(0, start + attemptNanos - System.nanoTime());
+                new WebDriverWait(driver, Duration.ofNanos(waitNanos), POLL_INTERVAL).until(arrived);
+                return succeeded(stats, transition, strategy, System.nanoTime() - start);
+            } catch (RuntimeException e) {
+                logger.debug("Navigation {} attempt with {} did not arrive: {}", transition, strategy.name,
+                        e.getMessage());
+                previous = strategy;
+                previousNanos = System.nanoTime() - start;
+            }
+        }
+        if (previous != null) {
+            if (hasArrived(driver, arrived)) {
+                return succeeded(stats, transition, previous, previousNanos);
+            }
+            failed(stats, transition, previous, previousNanos);
+        }
+        stats.exhausted.increment();
+        throw new TimeoutException(String.format("Navigation %s did not arrive within %dms (tried %s)",
+                transition, budget.toMillis(), ordered.stream().map(Strategy::getName).toList()));
+    }
+
+    /**
+     * Arrival condition evaluated once, without waiting
+     */
+    private static boolean hasArrived(WebDriver driver, ExpectedCondition<?> arrived) {
+        try {
+            Object result = arrived.apply(driver);
+            return result != null && !Boolean.FALSE.equals(result);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static String succeeded(TransitionStats stats, String transition, Strategy strategy, long nanos) {
+        stats.successes.computeIfAbsent(strategy.name, k -> new LongAdder()).increment();
+        stats.successNanos.computeIfAbsent(strategy.name, k -> new LongAdder()).add(nanos);
+        logger.debug("Navigation {} succeeded with {} in {}ms", transition, strategy.name,
+                TimeUnit.NANOSECONDS.toMillis(nanos));
+        return strategy.name;
+    }
+
+    private static void failed(TransitionStats stats, String transition, Strategy strategy, long nanos) {
+        stats.failures.computeIfAbsent(strategy.name, k -> new LongAdder()).increment();
+        stats.wastedNanos.add(nanos);
+        logger.debug("Navigation {} failed with {} after {}ms", transition, strategy.name,
+                TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    /**
+     * Best strategy so far for a transition (by success rate, then mean time), or null if
+     * none has succeeded
+     */
+    public static String getBestStrategy(String transition) {
+        TransitionStats stats = transitions.get(transition);
+        if (stats == null) {
+            return null;
+        }
+        return stats.successes.keySet().stream()
+                .min(stats.ranking())
+                .orElse(null);
+    }
+
+    public static long getWastedMillis(String transition) {
+        TransitionStats stats = transitions.get(transition);
+        return stats == null ? 0 : TimeUnit.NANOSECONDS.toMillis(stats.wastedNanos.sum());
+    }
+
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder("Navigation summary:");
+        new TreeMap<>(transitions).forEach((transition, stats) -> summary.append(System.lineSeparator())
+                .append(String.format("  %s: navigations=%d best=%s successes=%s failures=%s exhausted=%d wasted=%dms",
+                        transition, stats.navigations.sum(), getBestStrategy(transition),
+                        counts(stats.successes), counts(stats.failures), stats.exhausted.sum(),
+                        TimeUnit.NANOSECONDS.toMillis(stats.wastedNanos.sum()))));
+        return summary.toString();
+    }
+
+    public static void logSummary() {
+        if (!transitions.isEmpty()) {
+            logger.info(getSummary());
+        }
+    }
+
+    private static Map<String, Long> counts(Map<String, LongAdder> adders) {
+        Map<String, Long> counts = new TreeMap<>();
+        adders.forEach((name, adder) -> counts.put(name, adder.sum()));
+        return counts;
+    }
+}
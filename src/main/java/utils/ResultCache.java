@@ -0,0 +1,182 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Content-hash result cache for scenarios.
+ *
+ * A scenario's key is derived from its feature file text, the bytecode of every
+ * glue, page object and util class it depends on (see {@link TestImpactAnalyzer}),
+ * the config.properties snapshot and the user supplied application version.
+ * Passed scenarios are recorded in a local directory; a later run with the same
+ * key can skip them unless result.cache.force is set.
+ */
+public class ResultCache {
+    private static final Logger logger = LogManager.getLogger(ResultCache.class);
+    private static final String CONFIG_FILE_PATH = "src/test/resources/config.properties";
+    private static final String[] CLASS_ROOTS = {"target/classes", "target/test-classes"};
+    private static ConfigReader config = new ConfigReader();
+    private static TestImpactAnalyzer index;
+    private static boolean indexUnavailable;
+    private static final AtomicBoolean missingVersionLogged = new AtomicBoolean();
+
+    /**
+     * Check if caching is active for this run (enabled and an app version supplied)
+     */
+    public static boolean isEnabled() {
+        if (!config.isResultCacheEnabled()) {
+            return false;
+        }
+        if (config.getAppVersion().isBlank()) {
+            if (missingVersionLogged.compareAndSet(false, true)) {
+                logger.warn("Result cache enabled but no app.version supplied - cache disabled");
+            }
+            return false;
+        }
+        return getIndex() != null;
+    }
+
+    /**
+     * Check if the scenario passed before with identical inputs and may be skipped
+     */
+    public static boolean isCachedPass(URI featureUri, int line, String scenarioName) {
+        if (!isEnabled() || config.isResultCacheForced()) {
+            return false;
+        }
+        String key = computeKey(featureUri, line, scenarioName);
+        boolean cached = key != null && Files.exists(entryPath(key));
+        if (cached) {
+            logger.info("Result cache hit for scenario: {} ({})", scenarioName, key);
+        }
+        return cached;
+    }
+
+    /**
+     * Record a passed scenario so that later runs with the same inputs can skip it
+     */
+    public static void recordPass(URI featureUri, int line, String scenarioName) {
+        if (!isEnabled()) {
+            return;
+        }
+        String key = computeKey(featureUri, line, scenarioName);
+        if (key == null) {
+            return;
+        }
+        Properties entry = new Properties();
+        entry.setProperty("scenario", scenarioName);
+        entry.setProperty("feature", featureUri.toString());
+        entry.setProperty("line", String.valueOf(line));
+        entry.setProperty("app.version", config.getAppVersion());
+        entry.setProperty("recorded", Instant.now().toString());
+        try {
+            Path path = entryPath(key);
+            Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                entry.store(writer, "Cached scenario pass");
+            }
+            logger.debug("Recorded cached pass for scenario: {} ({})", scenarioName, key);
+        } catch (IOException e) {
+            logger.error("Failed to write result cache entry for scenario: {}", scenarioName, e);
+        }
+    }
+
+    /**
+     * Compute the content hash for a scenario, or null if it is not in the impact index
+     */
+    static String computeKey(URI featureUri, int line, String scenarioName) {
+        TestImpactAnalyzer analyzer = getIndex();
+        String featurePath = TestImpactAnalyzer.normalizeFeaturePath(featureUri.toString());
+        TestImpactAnalyzer.ScenarioEntry scenario = findEnclosingScenario(analyzer, featurePath, line);
+        if (scenario == null) {
+            logger.warn("Scenario not found in impact index: {}:{}", featurePath, line);
+            return null;
+        }
+
+        try {
+            MessageDigest digest = TestImpactAnalyzer.sha256();
+            update(digest, "feature", Files.readAllBytes(Paths.get(featurePath)));
+            update(digest, "scenario", (line + ":" + scenarioName).getBytes(StandardCharsets.UTF_8));
+            for (String className : analyzer.dependenciesOf(scenario)) {
+                update(digest, className, classBytes(analyzer, className));
+            }
+            update(digest, "config", Files.readAllBytes(Paths.get(CONFIG_FILE_PATH)));
+            update(digest, "app.version", config.getAppVersion().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            logger.error("Failed to compute result cache key for scenario: {}", scenarioName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Bytecode of a class including its nested classes; falls back to source if not compiled
+     */
+    private static byte[] classBytes(TestImpactAnalyzer analyzer, String className) throws IOException {
+        String relative = className.replace('.', '/');
+        String simpleName = relative.substring(relative.lastIndexOf('/') + 1);
+        for (String root : CLASS_ROOTS) {
+            Path classFile = Paths.get(root, relative + ".class");
+            if (Files.exists(classFile)) {
+                MessageDigest digest = TestImpactAnalyzer.sha256();
+                digest.update(Files.readAllBytes(classFile));
+                try (DirectoryStream<Path> nested = Files.newDirectoryStream(classFile.getParent(), simpleName + "$*.class")) {
+                    for (Path path : nested) {
+                        update(digest, path.getFileName().toString(), Files.readAllBytes(path));
+                    }
+                }
+                return digest.digest();
+            }
+        }
+        String source = analyzer.sourceFileOf(className);
+        return source != null ? Files.readAllBytes(Paths.get(source)) : new byte[0];
+    }
+
+    private static TestImpactAnalyzer.ScenarioEntry findEnclosingScenario(TestImpactAnalyzer analyzer,
+                                                                         String featurePath, int line) {
+        TestImpactAnalyzer.ScenarioEntry match = null;
+        for (TestImpactAnalyzer.ScenarioEntry scenario : analyzer.getScenarios()) {
+            if (scenario.getFeaturePath().equals(featurePath) && scenario.getLine() <= line
+                    && (match == null || scenario.getLine() > match.getLine())) {
+                match = scenario;
+            }
+        }
+        return match;
+    }
+
+    private static void update(MessageDigest digest, String label, byte[] content) {
+        digest.update(label.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(content);
+    }
+
+    private static Path entryPath(String key) {
+        return Paths.get(config.getResultCacheDir(), key + ".properties");
+    }
+
+    private static synchronized TestImpactAnalyzer getIndex() {
+        if (index == null && !indexUnavailable) {
+            try {
+                index = TestImpactAnalyzer.load();
+            } catch (IOException e) {
+                indexUnavailable = true;
+                logger.error("Failed to load scenario impact index - result cache disabled", e);
+            }
+        }
+        return index;
+    }
+}
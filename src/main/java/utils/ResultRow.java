@@ -0,0 +1,136 @@
+package utils;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cursor view over the current row of a streaming {@link DatabaseUtil} query.
+ *
+ * Column labels are resolved to indexes once per query, so reading a column by
+ * name costs a map lookup instead of a metadata call per cell. The same instance
+ * is reused for every row: read the values inside the callback (or copy them
+ * with {@link #toMap()}) before moving to the next row.
+ */
+public class ResultRow {
+
+    private final ResultSet resultSet;
+    private final Map<String, Integer> columnIndex;
+    private final String[] columnLabels;
+
+    ResultRow(ResultSet resultSet) throws SQLException {
+        this.resultSet = resultSet;
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        Map<String, Integer> index = new HashMap<>();
+        columnLabels = new String[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            columnLabels[i - 1] = metaData.getColumnLabel(i);
+            index.putIfAbsent(columnLabels[i - 1].toLowerCase(), i);
+        }
+        this.columnIndex = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * 1-based index of a column label (case-insensitive)
+     */
+    public int getColumnIndex(String column) {
+        Integer index = columnIndex.get(column.toLowerCase());
+        if (index == null) {
+            throw new IllegalArgumentException("Column not found in result: " + column);
+        }
+        return index;
+    }
+
+    public int getColumnCount() {
+        return columnLabels.length;
+    }
+
+    public String getColumnLabel(int index) {
+        return columnLabels[index - 1];
+    }
+
+    public String getString(int index) {
+        try {
+            return resultSet.getString(index);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read column " + index, e);
+        }
+    }
+
+    public String getString(String column) {
+        return getString(getColumnIndex(column));
+    }
+
+    public int getInt(String column) {
+        try {
+            return resultSet.getInt(getColumnIndex(column));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read column " + column, e);
+        }
+    }
+
+    public long getLong(String column) {
+        try {
+            return resultSet.getLong(getColumnIndex(column));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read column " + column, e);
+        }
+    }
+
+    public double getDouble(String column) {
+        try {
+            return resultSet.getDouble(getColumnIndex(column));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read column " + column, e);
+        }
+    }
+
+    public boolean getBoolean(String column) {
+        try {
+            return resultSet.getBoolean(getColumnIndex(column));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read column " + column, e);
+        }
+    }
+
+    public BigDecimal getBigDecimal(String column) {
+        try {
+            return resultSet.getBigDecimal(getColumnIndex(column));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read column " + column, e);
+        }
+    }
+
+    public Object getObject(String column) {
+        try {
+            return resultSet.getObject(getColumnIndex(column));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read column " + column, e);
+        }
+    }
+
+    public <T> T getObject(String column, Class<T> type) {
+        try {
+            return resultSet.getObject(getColumnIndex(column), type);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read column " + column, e);
+        }
+    }
+
+    /**
+     * Copy the current row into a map of column label to string value
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 1; i <= columnLabels.length; i++) {
+            row.put(columnLabels[i - 1], getString(i));
+        }
+        return row;
+    }
+}
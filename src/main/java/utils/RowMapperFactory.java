@@ -0,0 +1,235 @@
+package utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles typed {@link RowMapper}s from method handles.
+ *
+ * A mapper is built once per (target type, result column labels) and cached. Each
+ * column is read with the JDBC getter for the target property type (getInt, getLong,
+ * getObject(index, type), ...) and fed straight into the record constructor, setter
+ * or field through a single composed MethodHandle, so no reflection, String parsing
+ * or per-row boxing is involved after the first row.
+ *
+ * Supported targets: records (canonical constructor), POJOs with a no-arg constructor
+ * (setters or fields) and single-column scalar types (String, Long, BigDecimal, ...).
+ * Column labels match property names case-insensitively, ignoring underscores.
+ */
+public class RowMapperFactory {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Map<String, RowMapper<?>> cache = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, String> TYPED_GETTERS = new HashMap<>();
+    private static final Set<Class<?>> SCALAR_TYPES = Set.of(
+            String.class, Integer.class, Long.class, Double.class, Float.class, Short.class, Byte.class,
+            Boolean.class, BigDecimal.class, java.time.LocalDate.class, java.time.LocalDateTime.class,
+            java.time.LocalTime.class, java.time.OffsetDateTime.class, java.sql.Date.class,
+            java.sql.Timestamp.class, int.class, long.class, double.class, float.class, short.class,
+            byte.class, boolean.class);
+
+    static {
+        TYPED_GETTERS.put(int.class, "getInt");
+        TYPED_GETTERS.put(long.class, "getLong");
+        TYPED_GETTERS.put(double.class, "getDouble");
+        TYPED_GETTERS.put(float.class, "getFloat");
+        TYPED_GETTERS.put(short.class, "getShort");
+        TYPED_GETTERS.put(byte.class, "getByte");
+        TYPED_GETTERS.put(boolean.class, "getBoolean");
+        TYPED_GETTERS.put(String.class, "getString");
+        TYPED_GETTERS.put(BigDecimal.class, "getBigDecimal");
+    }
+
+    /**
+     * Get (or compile and cache) the mapper for a target type and result shape
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> forResult(Class<T> type, ResultSetMetaData metaData) throws SQLException {
+        String[] labels = new String[metaData.getColumnCount()];
+        StringBuilder key = new StringBuilder(type.getName());
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            key.append('|').append(labels[i]);
+        }
+        return (RowMapper<T>) cache.computeIfAbsent(key.toString(), k -> compile(type, labels));
+    }
+
+    /**
+     * Number of compiled mappers held in the cache
+     */
+    public static int getCachedMapperCount() {
+        return cache.size();
+    }
+
+    private static <T> RowMapper<T> compile(Class<T> type, String[] labels) {
+        try {
+            MethodHandle handle;
+            if (SCALAR_TYPES.contains(type) || type.isEnum()) {
+                handle = columnReader(type, 1);
+            } else if (type.isRecord()) {
+                handle = compileRecord(type, labels);
+            } else {
+                handle = compileBean(type, labels);
+            }
+            return new CompiledRowMapper<>(handle.asType(MethodType.methodType(Object.class, ResultSet.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot build row mapper for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * (ResultSet)T: canonical constructor with every argument filtered through its column reader
+     */
+    private static MethodHandle compileRecord(Class<?> type, String[] labels) throws ReflectiveOperationException {
+        Map<String, Integer> columns = indexColumns(labels);
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        MethodHandle[] readers = new MethodHandle[components.length];
+        for (int i = 0; i < components.length; i++) {
+            parameterTypes[i] = components[i].getType();
+            Integer column = columns.get(normalize(components[i].getName()));
+            if (column == null) {
+                throw new IllegalArgumentException("No column for record component '" + components[i].getName()
+                        + "' of " + type.getName() + " in result columns " + String.join(", ", labels));
+            }
+            readers[i] = columnReader(parameterTypes[i], column);
+        }
+        Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+        constructor.setAccessible(true);
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+        if (components.length == 0) {
+            return MethodHandles.dropArguments(handle, 0, ResultSet.class);
+        }
+        handle = MethodHandles.filterArguments(handle, 0, readers);
+        return MethodHandles.permuteArguments(handle, MethodType.methodType(type, ResultSet.class),
+                new int[components.length]);
+    }
+
+    /**
+     * (ResultSet)T: no-arg constructor followed by one setter/field write per matching column
+     */
+    private static MethodHandle compileBean(Class<?> type, String[] labels) throws ReflectiveOperationException {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        MethodHandle handle = MethodHandles.dropArguments(LOOKUP.unreflectConstructor(constructor), 0, ResultSet.class);
+        MethodHandle returnTarget = MethodHandles.dropArguments(MethodHandles.identity(type), 1, ResultSet.class);
+
+        for (int column = 1; column <= labels.length; column++) {
+            MethodHandle writer = propertyWriter(type, normalize(labels[column - 1]));
+            if (writer == null) {
+                continue;
+            }
+            Class<?> propertyType = writer.type().parameterType(1);
+            // (T, ResultSet)void: write the column value into the new instance
+            MethodHandle assign = MethodHandles.filterArguments(writer, 1, columnReader(propertyType, column));
+            // (T, ResultSet)T: assign, then hand the instance on
+            MethodHandle step = MethodHandles.foldArguments(returnTarget, assign);
+            // (ResultSet)T: previous chain, then this step
+            handle = MethodHandles.foldArguments(step, handle);
+        }
+        return handle;
+    }
+
+    /**
+     * (T, V)void for a setter or writable field whose normalized name matches
+     */
+    private static MethodHandle propertyWriter(Class<?> type, String property) throws IllegalAccessException {
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers())
+                    && method.getName().startsWith("set")
+                    && normalize(method.getName().substring(3)).equals(property)) {
+                return LOOKUP.unreflect(method).asType(
+                        MethodType.methodType(void.class, type, method.getParameterTypes()[0]));
+            }
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)
+                        && normalize(field.getName()).equals(property)) {
+                    field.setAccessible(true);
+                    return LOOKUP.unreflectSetter(field).asType(
+                            MethodType.methodType(void.class, type, field.getType()));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * (ResultSet)V reading the column with the JDBC getter matching the target type
+     */
+    private static MethodHandle columnReader(Class<?> type, int column) throws ReflectiveOperationException {
+        String getter = TYPED_GETTERS.get(type);
+        if (getter != null) {
+            MethodHandle handle = LOOKUP.findVirtual(ResultSet.class, getter, MethodType.methodType(type, int.class));
+            return MethodHandles.insertArguments(handle, 1, column);
+        }
+        if (type.isEnum()) {
+            MethodHandle readString = columnReader(String.class, column);
+            MethodHandle toEnum = LOOKUP.findStatic(RowMapperFactory.class, "toEnum",
+                    MethodType.methodType(Enum.class, Class.class, String.class));
+            toEnum = MethodHandles.insertArguments(toEnum, 0, type).asType(MethodType.methodType(type, String.class));
+            return MethodHandles.filterReturnValue(readString, toEnum);
+        }
+        MethodHandle handle = LOOKUP.findVirtual(ResultSet.class, "getObject",
+                MethodType.methodType(Object.class, int.class, Class.class));
+        Class<?> boxed = MethodType.methodType(type).wrap().returnType();
+        return MethodHandles.insertArguments(handle, 1, column, boxed)
+                .asType(MethodType.methodType(type, ResultSet.class));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Enum<?> toEnum(Class type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    private static Map<String, Integer> indexColumns(String[] labels) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            columns.putIfAbsent(normalize(labels[i]), i + 1);
+        }
+        return columns;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase();
+    }
+
+    /**
+     * Mapper backed by a compiled (ResultSet)Object handle
+     */
+    private static final class CompiledRowMapper<T> implements RowMapper<T> {
+        private final MethodHandle handle;
+
+        CompiledRowMapper(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T map(ResultSet resultSet) throws SQLException {
+            try {
+                return (T) (Object) handle.invokeExact(resultSet);
+            } catch (SQLException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Row mapping failed", t);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package utils;
+
+import io.cucumber.core.backend.ObjectFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cucumber object factory with constructor injection for step definitions and page objects.
+ *
+ * Cucumber keeps one factory per runner thread. Each class is built through its public
+ * constructor with the most parameters, resolving every parameter the same way, so a
+ * scenario gets one instance of each page object and one shared {@link SeleniumActions}.
+ * Instances live for the scenario unless the class is annotated {@link WorkerScoped}
+ * (e.g. {@link ConfigReader}), in which case they are reused by all scenarios of the
+ * worker. WebDriver parameters resolve to the thread's {@link DriverManager} driver.
+ *
+ * Registered through META-INF/services and @CucumberOptions(objectFactory = ...).
+ */
+public class ScenarioObjectFactory implements ObjectFactory {
+    private static final Logger logger = LogManager.getLogger(ScenarioObjectFactory.class);
+
+    private final Map<Class<?>, Object> workerInstances = new HashMap<>();
+    private final Map<Class<?>, Object> scenarioInstances = new HashMap<>();
+    private final Deque<Class<?>> creating = new ArrayDeque<>();
+    private int createdThisScenario;
+
+    @Override
+    public void start() {
+        scenarioInstances.clear();
+        createdThisScenario = 0;
+    }
+
+    @Override
+    public void stop() {
+        logger.debug("Scenario scope closed: {} objects created, {} worker-scoped reused",
+                createdThisScenario, workerInstances.size());
+        scenarioInstances.clear();
+    }
+
+    @Override
+    public boolean addClass(Class<?> glueClass) {
+        return true;
+    }
+
+    @Override
+    public <T> T getInstance(Class<T> type) {
+        if (type == WebDriver.class) {
+            return type.cast(DriverManager.getDriver());
+        }
+        Map<Class<?>, Object> scope = type.isAnnotationPresent(WorkerScoped.class) ? workerInstances : scenarioInstances;
+        Object instance = scope.get(type);
+        if (instance == null) {
+            instance = create(type);
+            scope.put(type, instance);
+        }
+        return type.cast(instance);
+    }
+
+    private Object create(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalStateException("Cannot inject " + type.getName() + ": not a concrete class");
+        }
+        if (creating.contains(type)) {
+            throw new IllegalStateException("Circular constructor dependency: " + creating + " -> " + type.getName());
+        }
+        Constructor<?> constructor = selectConstructor(type);
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] arguments = new Object[parameterTypes.length];
+        creating.push(type);
+        try {
+            for (int i = 0; i < parameterTypes.length; i++) {
+                arguments[i] = getInstance(parameterTypes[i]);
+            }
+            createdThisScenario++;
+            return constructor.newInstance(arguments);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Failed to create " + type.getName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create " + type.getName(), e);
+        } finally {
+            creating.pop();
+        }
+    }
+
+    private static Constructor<?> selectConstructor(Class<?> type) {
+        Constructor<?> selected = null;
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (selected == null || constructor.getParameterCount() > selected.getParameterCount()) {
+                selected = constructor;
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("Cannot inject " + type.getName() + ": no public constructor");
+        }
+        return selected;
+    }
+}
@@ -7,21 +7,91 @@ import org.openqa.selenium.support.ui.*;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Utility class containing common Selenium actions and waits
  */
 public class SeleniumActions {
     
+    /**
+     * Resolves once no finite CSS transition/animation has run on the target (or the whole
+     * document) for two consecutive animation frames; transitionend/animationend events
+     * restart the count. Resolves false when arguments[1] ms pass first.
+     */
+    private static final String SETTLE_SCRIPT =
+            "var root = arguments[0] || document.documentElement, timeoutMs = arguments[1];" +
+            "var done = arguments[arguments.length - 1], quietFrames = 0, finished = false;" +
+            "function running() {" +
+            "  if (!root.getAnimations) { return 0; }" +
+            "  return root.getAnimations({subtree: true}).filter(function (a) {" +
+            "    var timing = a.effect && a.effect.getTiming ? a.effect.getTiming() : {};" +
+            "    return (a.playState === 'running' || a.playState === 'pending') && timing.iterations !== Infinity;" +
+            "  }).length;" +
+            "}" +
+            "function onEnd() { quietFrames = 0; }" +
+            "function finish(settled) {" +
+            "  if (finished) { return; } finished = true;" +
+            "  root.removeEventListener('transitionend', onEnd, true);" +
+            "  root.removeEventListener('animationend', onEnd, true);" +
+            "  done(settled);" +
+            "}" +
+            "function tick() {" +
+            "  if (finished) { return; }" +
+            "  quietFrames = running() === 0 ? quietFrames + 1 : 0;" +
+            "  if (quietFrames >= 2) { finish(true); } else { requestAnimationFrame(tick); }" +
+            "}" +
+            "root.addEventListener('transitionend', onEnd, true);" +
+            "root.addEventListener('animationend', onEnd, true);" +
+            "requestAnimationFrame(tick);" +
+            "setTimeout(function () { finish(false); }, timeoutMs);";
+    
+    /**
+     * Resolves every field first (an element, or a [css selector | xpath, value] pair looked
+     * up in the page) and returns the index of the first one missing; otherwise sets each
+     * field through the native value setter (so React and similar frameworks see the change),
+     * dispatches bubbling input and change events and returns -1
+     */
+    private static final String FAST_FILL_SCRIPT =
+            "var fields = arguments[0], values = arguments[1], elements = [];" +
+            "for (var i = 0; i < fields.length; i++) {" +
+            "  var f = fields[i];" +
+            "  elements[i] = !Array.isArray(f) ? f : f[0] === 'xpath'" +
+            "      ? document.evaluate(f[1], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue" +
+            "      : document.querySelector(f[1]);" +
+            "  if (!elements[i]) { return i; }" +
+            "}" +
+            "for (var i = 0; i < elements.length; i++) {" +
+            "  var el = elements[i];" +
+            "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype" +
+            "      : el instanceof HTMLInputElement ? HTMLInputElement.prototype : null;" +
+            "  var setter = proto ? Object.getOwnPropertyDescriptor(proto, 'value').set : null;" +
+            "  el.focus();" +
+            "  if (setter) { setter.call(el, values[i]); } else { el.value = values[i]; }" +
+            "  el.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  el.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  el.blur();" +
+            "}" +
+            "return -1;";
+    
+    private static final Set<By> keystrokeFields = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Boolean> implicitWaitOff = ThreadLocal.withInitial(() -> false);
+    
     private WebDriver driver;
     private WebDriverWait wait;
     private Actions actions;
     private ConfigReader config;
     
     public SeleniumActions(WebDriver driver) {
+        this(driver, new ConfigReader());
+    }
+    
+    public SeleniumActions(WebDriver driver, ConfigReader config) {
         this.driver = driver;
-        this.config = new ConfigReader();
+        this.config = config;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(config.getExplicitWait()));
         this.actions = new Actions(driver);
     }
@@ -29,19 +99,64 @@ public class SeleniumActions {
     // ========== WAITS ==========
     
     public WebElement waitForElement(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return timedWait(ExpectedConditions.visibilityOfElementLocated(locator));
     }
     
     public WebElement waitForClickable(By locator) {
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return timedWait(ExpectedConditions.elementToBeClickable(locator));
     }
     
     public void waitForInvisibility(By locator) {
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        timedWait(ExpectedConditions.invisibilityOfElementLocated(locator));
     }
     
     public void waitForTextPresent(By locator, String text) {
-        wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        timedWait(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+    }
+    
+    /**
+     * Run the explicit wait and record its latency in {@link WaitStats}
+     */
+    private <T> T timedWait(ExpectedCondition<T> condition) {
+        long start = System.nanoTime();
+        boolean satisfied = false;
+        try {
+            T result = wait.until(condition);
+            satisfied = true;
+            return result;
+        } finally {
+            WaitStats.record(WaitStats.UI, System.nanoTime() - start, satisfied, 0);
+        }
+    }
+    
+    /**
+     * Wait until CSS transitions and animations in the document have finished
+     * @return true if the page settled within settle.timeout.ms
+     */
+    public boolean settle() {
+        return runSettle(null);
+    }
+    
+    /**
+     * Wait until CSS transitions and animations on the element and its descendants have finished
+     * @return true if the element settled within settle.timeout.ms
+     */
+    public boolean settle(By locator) {
+        return runSettle(driver.findElement(locator));
+    }
+    
+    private boolean runSettle(WebElement target) {
+        long start = System.nanoTime();
+        boolean settled = false;
+        try {
+            settled = Boolean.TRUE.equals(((JavascriptExecutor) driver)
+                    .executeAsyncScript(SETTLE_SCRIPT, target, config.getSettleTimeoutMs()));
+            return settled;
+        } catch (WebDriverException e) {
+            return false;
+        } finally {
+            WaitStats.record(WaitStats.UI, System.nanoTime() - start, settled, 0);
+        }
     }
     
     // ========== CLICKS ==========
@@ -50,6 +165,24 @@ public class SeleniumActions {
         waitForClickable(locator).click();
     }
     
+    /**
+     * Click once the element is clickable, waiting at most the given timeout (the implicit
+     * wait is off meanwhile, so a missing element cannot block past it)
+     */
+    public void click(By locator, Duration timeout) {
+        long start = System.nanoTime();
+        boolean satisfied = false;
+        try {
+            withoutImplicitWait(driver, () -> {
+                new WebDriverWait(driver, timeout).until(ExpectedConditions.elementToBeClickable(locator)).click();
+                return null;
+            });
+            satisfied = true;
+        } finally {
+            WaitStats.record(WaitStats.UI, System.nanoTime() - start, satisfied, 0);
+        }
+    }
+    
     public void jsClick(By locator) {
         WebElement element = driver.findElement(locator);
         JavascriptExecutor js = (JavascriptExecutor) driver;
@@ -68,12 +201,99 @@ public class SeleniumActions {
     
     // ========== TEXT OPERATIONS ==========
     
+    /**
+     * Enter text, fast-filled unless fast.fill.enabled is off or the field needs keystrokes
+     */
     public void enterText(By locator, String text) {
+        if (useFastFill(locator)) {
+            fillFields(Map.of(locator, text));
+        } else {
+            typeText(locator, text);
+        }
+    }
+    
+    /**
+     * Clear the field and type the text with real keystrokes
+     */
+    public void typeText(By locator, String text) {
         WebElement element = waitForElement(locator);
         element.clear();
         element.sendKeys(text);
     }
     
+    /**
+     * Fill several fields of one form in order: one wait for the first field, then each run
+     * of consecutive fast-fillable fields is set by a single script call that also locates
+     * them (CSS and XPath locators; others are found first); fields opted out with
+     * {@link #requireKeystrokes} (or all fields when fast.fill.enabled is off) are typed
+     * in between.
+     * @param values field locator to value, in fill order
+     */
+    public void fillFields(Map<By, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        waitForElement(values.keySet().iterator().next());
+        List<By> locators = new ArrayList<>();
+        List<String> fieldValues = new ArrayList<>();
+        for (Map.Entry<By, String> entry : values.entrySet()) {
+            if (useFastFill(entry.getKey())) {
+                locators.add(entry.getKey());
+                fieldValues.add(entry.getValue());
+            } else {
+                fastFill(locators, fieldValues);
+                typeText(entry.getKey(), entry.getValue());
+            }
+        }
+        fastFill(locators, fieldValues);
+    }
+    
+    /**
+     * Set the pending fast-fill fields in one script call and clear them
+     */
+    private void fastFill(List<By> locators, List<String> fieldValues) {
+        if (locators.isEmpty()) {
+            return;
+        }
+        List<Object> fields = new ArrayList<>();
+        for (By locator : locators) {
+            fields.add(scriptLocator(locator));
+        }
+        Object missing = ((JavascriptExecutor) driver).executeScript(FAST_FILL_SCRIPT, fields, fieldValues);
+        if (missing instanceof Number && ((Number) missing).intValue() >= 0) {
+            throw new NoSuchElementException("Unable to locate field to fill: "
+                    + locators.get(((Number) missing).intValue()));
+        }
+        locators.clear();
+        fieldValues.clear();
+    }
+    
+    /**
+     * [strategy, selector] for locators the fill script can resolve itself, else the element
+     */
+    private Object scriptLocator(By locator) {
+        By by = locator instanceof LocatorRegistry.TimedBy
+                ? ((LocatorRegistry.TimedBy) locator).getDelegate() : locator;
+        if (by instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+            if ("css selector".equals(parameters.using()) || "xpath".equals(parameters.using())) {
+                return List.of(parameters.using(), String.valueOf(parameters.value()));
+            }
+        }
+        return driver.findElement(locator);
+    }
+    
+    /**
+     * Opt a field out of fast fill, e.g. inputs with key handlers or input masks
+     */
+    public static void requireKeystrokes(By locator) {
+        keystrokeFields.add(locator);
+    }
+    
+    private boolean useFastFill(By locator) {
+        return config.isFastFillEnabled() && !keystrokeFields.contains(locator);
+    }
+    
     public String getText(By locator) {
         return waitForElement(locator).getText();
     }
@@ -256,4 +476,26 @@ public class SeleniumActions {
     public void uploadFile(By locator, String filePath) {
         driver.findElement(locator).sendKeys(filePath);
     }
+    
+    // ========== IMPLICIT WAIT ==========
+    
+    /**
+     * Run an action with the implicit wait set to zero, restoring the previous value after.
+     * Nested calls on the same thread reuse the outer setting instead of switching again.
+     */
+    public static <T> T withoutImplicitWait(WebDriver driver, Supplier<T> action) {
+        if (implicitWaitOff.get()) {
+            return action.get();
+        }
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration previous = timeouts.getImplicitWaitTimeout();
+        timeouts.implicitlyWait(Duration.ZERO);
+        implicitWaitOff.set(true);
+        try {
+            return action.get();
+        } finally {
+            implicitWaitOff.set(false);
+            timeouts.implicitlyWait(previous);
+        }
+    }
 }
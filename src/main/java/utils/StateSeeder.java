@@ -0,0 +1,132 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Sets up SauceDemo preconditions directly in the browser instead of clicking through
+ * the UI. SauceDemo keeps its state client-side: the logged-in user is the
+ * "session-username" cookie and the cart is the "cart-contents" localStorage entry
+ * (a JSON array of product ids). Both are written on the site's origin, the cookie through
+ * the WebDriver cookie API and the cart by a script taking it as an argument, then the
+ * target page is loaded once. A browser not yet on the site first loads base.url, as
+ * cookies and localStorage can only be written from the origin.
+ *
+ * Checkout information is not persisted by the application; open
+ * {@link #CHECKOUT_OVERVIEW} to start past the information form.
+ *
+ * Use it for steps that are setup, not for the behaviour under test:
+ * StateSeeder.on(driver).loggedInAs("standard_user").withCart("Sauce Labs Backpack").open(StateSeeder.CART);
+ */
+public class StateSeeder {
+    private static final Logger logger = LogManager.getLogger(StateSeeder.class);
+    private static ConfigReader config = new ConfigReader();
+
+    public static final String INVENTORY = "/inventory.html";
+    public static final String CART = "/cart.html";
+    public static final String CHECKOUT_INFO = "/checkout-step-one.html";
+    public static final String CHECKOUT_OVERVIEW = "/checkout-step-two.html";
+
+    private static final Map<String, Integer> PRODUCT_IDS = Map.of(
+            "Sauce Labs Backpack", 4,
+            "Sauce Labs Bike Light", 0,
+            "Sauce Labs Bolt T-Shirt", 1,
+            "Sauce Labs Fleece Jacket", 5,
+            "Sauce Labs Onesie", 2,
+            "Test.allTheThings() T-Shirt (Red)", 3);
+
+    private static final String SESSION_COOKIE = "session-username";
+    private static final String CART_SCRIPT = "localStorage.setItem('cart-contents', arguments[0]);";
+
+    private final WebDriver driver;
+    private final String baseUrl;
+    private String username;
+    private final List<Integer> cart = new ArrayList<>();
+    private boolean cartSeeded;
+
+    private StateSeeder(WebDriver driver) {
+        this.driver = driver;
+        String url = config.getBaseUrl();
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public static StateSeeder on(WebDriver driver) {
+        return new StateSeeder(driver);
+    }
+
+    public static boolean isEnabled() {
+        return config.isStateSeedingEnabled();
+    }
+
+    /**
+     * Product id used in the cart-contents entry
+     */
+    public static int productId(String productName) {
+        Integer id = PRODUCT_IDS.get(productName);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown product: " + productName);
+        }
+        return id;
+    }
+
+    public StateSeeder loggedInAs(String username) {
+        this.username = username;
+        return this;
+    }
+
+    /**
+     * Replace the cart with these products (an empty call empties it)
+     */
+    public StateSeeder withCart(String... productNames) {
+        return withCart(List.of(productNames));
+    }
+
+    public StateSeeder withCart(List<String> productNames) {
+        cart.clear();
+        for (String productName : productNames) {
+            int id = productId(productName);
+            if (!cart.contains(id)) {
+                cart.add(id);
+            }
+        }
+        cartSeeded = true;
+        return this;
+    }
+
+    /**
+     * Write the seeded state and load the page (path relative to base.url, e.g. {@link #CART})
+     */
+    public void open(String page) {
+        String origin = originOf(baseUrl);
+        if (!origin.equals(originOf(driver.getCurrentUrl()))) {
+            driver.get(baseUrl);
+        }
+        if (username != null) {
+            driver.manage().addCookie(new Cookie(SESSION_COOKIE, username, "/"));
+        }
+        String cartJson = null;
+        if (cartSeeded) {
+            cartJson = cart.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+            ((JavascriptExecutor) driver).executeScript(CART_SCRIPT, cartJson);
+        }
+        driver.get(baseUrl + page);
+        logger.info("Seeded state (user={}, cart={}) and opened {}", username, cartJson, page);
+    }
+
+    private static String originOf(String url) {
+        if (url == null || !url.startsWith("http")) {
+            return "";
+        }
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+}
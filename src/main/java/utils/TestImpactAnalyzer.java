@@ -0,0 +1,635 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test impact analysis for Cucumber scenarios.
+ *
+ * Builds (and caches) an index that maps every scenario to the glue classes
+ * whose step definitions it binds, and those glue classes to the page objects
+ * and utilities they reference. Given a git base revision, only the scenarios
+ * reachable from a changed file are selected and the reason is printed.
+ *
+ * Usage: java -cp target/classes utils.TestImpactAnalyzer [baseRef]
+ * Selected scenarios are written in rerun format to
+ * test-output/impacted_scenarios.txt, which can be passed to Cucumber with
+ * -Dcucumber.features=@test-output/impacted_scenarios.txt
+ */
+public class TestImpactAnalyzer {
+
+    private static final List<String> SOURCE_ROOTS = Arrays.asList("src/main/java", "src/test/java");
+    private static final String FEATURES_DIR = "src/test/resources/features";
+    private static final String INDEX_FILE = "test-output/impact-index.properties";
+    private static final String OUTPUT_FILE = "test-output/impacted_scenarios.txt";
+
+    private static final Pattern STEP_ANNOTATION =
+            Pattern.compile("@(?:Given|When|Then|And|But)\\(\\s*\"((?:[^\"\\\\]|\\\\.)*)\"\\s*\\)");
+    private static final Pattern HOOK_ANNOTATION =
+            Pattern.compile("@(?:Before|After|BeforeStep|AfterStep)\\b(?!All)");
+    private static final Pattern IDENTIFIER = Pattern.compile("\\b[A-Z][A-Za-z0-9_]*\\b");
+    private static final Pattern SCENARIO_LINE =
+            Pattern.compile("^\\s*(Scenario|Scenario Outline|Scenario Template|Example):\\s*(.*)$");
+    private static final Pattern STEP_LINE = Pattern.compile("^\\s*(Given|When|Then|And|But|\\*)\\s+(.*)$");
+    private static final Pattern PLACEHOLDER = Pattern.compile("<([^>]+)>");
+
+    private final Map<String, Set<String>> classGraph;
+    private final Map<String, String> classFiles;
+    private final Set<String> hookClasses;
+    private final List<ScenarioEntry> scenarios;
+
+    /**
+     * A scenario in the index, identified by feature path and line
+     */
+    public static class ScenarioEntry {
+        private final String featurePath;
+        private final int line;
+        private final String name;
+        private final Set<String> glueClasses;
+
+        ScenarioEntry(String featurePath, int line, String name, Set<String> glueClasses) {
+            this.featurePath = featurePath;
+            this.line = line;
+            this.name = name;
+            this.glueClasses = glueClasses;
+        }
+
+        public String getFeaturePath() {
+            return featurePath;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Set<String> getGlueClasses() {
+            return glueClasses;
+        }
+
+        public String getId() {
+            return featurePath + ":" + line;
+        }
+    }
+
+    private TestImpactAnalyzer(Map<String, Set<String>> classGraph, Map<String, String> classFiles,
+                               Set<String> hookClasses, List<ScenarioEntry> scenarios) {
+        this.classGraph = classGraph;
+        this.classFiles = classFiles;
+        this.hookClasses = hookClasses;
+        this.scenarios = scenarios;
+    }
+
+    /**
+     * Load the index from cache, rebuilding it when any source or feature file changed
+     */
+    public static TestImpactAnalyzer load() throws IOException {
+        List<Path> inputs = collectInputs();
+        String fingerprint = fingerprint(inputs);
+        Path indexPath = Paths.get(INDEX_FILE);
+
+        if (Files.exists(indexPath)) {
+            Properties cached = new Properties();
+            try (Reader reader = Files.newBufferedReader(indexPath, StandardCharsets.UTF_8)) {
+                cached.load(reader);
+            }
+            if (fingerprint.equals(cached.getProperty("fingerprint"))) {
+                return fromProperties(cached);
+            }
+        }
+
+        TestImpactAnalyzer analyzer = build(inputs);
+        Properties properties = analyzer.toProperties();
+        properties.setProperty("fingerprint", fingerprint);
+        Files.createDirectories(indexPath.getParent());
+        try (Writer writer = Files.newBufferedWriter(indexPath, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Scenario impact index - generated, do not edit");
+        }
+        System.out.println("Impact index rebuilt: " + analyzer.scenarios.size() + " scenarios, "
+                + analyzer.classFiles.size() + " classes");
+        return analyzer;
+    }
+
+    public List<ScenarioEntry> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * Find the indexed scenario for a feature file and line
+     */
+    public ScenarioEntry findScenario(String featurePath, int line) {
+        String normalized = normalizeFeaturePath(featurePath);
+        for (ScenarioEntry scenario : scenarios) {
+            if (scenario.featurePath.equals(normalized) && scenario.line == line) {
+                return scenario;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * All classes a scenario depends on: hooks, bound glue and everything they reference
+     */
+    public Set<String> dependenciesOf(ScenarioEntry scenario) {
+        Set<String> visited = new TreeSet<>();
+        Deque<String> queue = new ArrayDeque<>(hookClasses);
+        queue.addAll(scenario.glueClasses);
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            if (visited.add(current)) {
+                queue.addAll(classGraph.getOrDefault(current, Collections.emptySet()));
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Source file backing a class in the index
+     */
+    public String sourceFileOf(String className) {
+        return classFiles.get(className);
+    }
+
+    /**
+     * Select scenarios affected by the given changed files. A changed source file whose class
+     * is not in the index (deleted or renamed) counts as a global change, since the index of
+     * the current tree no longer records what depended on it.
+     * @return selected scenarios mapped to the reason they were chosen
+     */
+    public Map<ScenarioEntry, String> selectImpacted(Collection<String> changedFiles) {
+        Map<ScenarioEntry, String> selected = new LinkedHashMap<>();
+        Map<String, String> changedClasses = new HashMap<>();
+        Set<String> changedFeatures = new HashSet<>();
+        String globalChange = null;
+
+        for (String file : changedFiles) {
+            String path = file.replace('\\', '/');
+            if (path.endsWith(".feature")) {
+                changedFeatures.add(path);
+            } else if (path.endsWith(".java")) {
+                String className = classNameOf(path);
+                if (className != null && classFiles.containsKey(className)) {
+                    changedClasses.put(className, path);
+                } else if (isGlobalInput(path) && globalChange == null) {
+                    // Deleted, renamed or unindexed class: its former dependents are unknown
+                    globalChange = path + " (class not in the current index)";
+                }
+            } else if (isGlobalInput(path) && globalChange == null) {
+                globalChange = path;
+            }
+        }
+
+        for (ScenarioEntry scenario : scenarios) {
+            if (globalChange != null) {
+                selected.put(scenario, "global input changed: " + globalChange);
+            } else if (changedFeatures.contains(scenario.featurePath)) {
+                selected.put(scenario, "feature file changed: " + scenario.featurePath);
+            } else {
+                String chain = findChain(scenario, changedClasses.keySet());
+                if (chain != null) {
+                    selected.put(scenario, "depends on changed class via " + chain);
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Shortest dependency chain from the scenario's glue to any changed class
+     */
+    private String findChain(ScenarioEntry scenario, Set<String> changedClasses) {
+        if (changedClasses.isEmpty()) {
+            return null;
+        }
+        Map<String, String> parents = new HashMap<>();
+        Deque<String> queue = new ArrayDeque<>();
+        for (String start : scenario.glueClasses) {
+            parents.putIfAbsent(start, null);
+            queue.add(start);
+        }
+        for (String hook : hookClasses) {
+            if (!parents.containsKey(hook)) {
+                parents.put(hook, null);
+                queue.add(hook);
+            }
+        }
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            if (changedClasses.contains(current)) {
+                LinkedList<String> chain = new LinkedList<>();
+                for (String node = current; node != null; node = parents.get(node)) {
+                    chain.addFirst(simpleName(node));
+                }
+                return String.join(" -> ", chain);
+            }
+            for (String next : classGraph.getOrDefault(current, Collections.emptySet())) {
+                if (!parents.containsKey(next)) {
+                    parents.put(next, current);
+                    queue.add(next);
+                }
+            }
+        }
+        return null;
+    }
+
+    // ========== INDEX BUILDING ==========
+
+    private static TestImpactAnalyzer build(List<Path> inputs) throws IOException {
+        Map<String, String> sources = new TreeMap<>();
+        Map<String, String> classFiles = new TreeMap<>();
+        for (Path input : inputs) {
+            String path = input.toString().replace('\\', '/');
+            if (path.endsWith(".java")) {
+                String className = classNameOf(path);
+                sources.put(className, stripCommentsAndStrings(readString(input)));
+                classFiles.put(className, path);
+            }
+        }
+
+        Map<String, List<String>> bySimpleName = new HashMap<>();
+        for (String className : sources.keySet()) {
+            bySimpleName.computeIfAbsent(simpleName(className), k -> new ArrayList<>()).add(className);
+        }
+
+        Map<String, Set<String>> classGraph = new TreeMap<>();
+        for (Map.Entry<String, String> entry : sources.entrySet()) {
+            Set<String> dependencies = new TreeSet<>();
+            Matcher matcher = IDENTIFIER.matcher(entry.getValue());
+            while (matcher.find()) {
+                for (String candidate : bySimpleName.getOrDefault(matcher.group(), Collections.emptyList())) {
+                    if (!candidate.equals(entry.getKey())) {
+                        dependencies.add(candidate);
+                    }
+                }
+            }
+            classGraph.put(entry.getKey(), dependencies);
+        }
+
+        Map<Pattern, String> stepDefinitions = new LinkedHashMap<>();
+        Set<String> hookClasses = new TreeSet<>();
+        for (Map.Entry<String, String> entry : classFiles.entrySet()) {
+            String raw = readString(Paths.get(entry.getValue()));
+            Matcher matcher = STEP_ANNOTATION.matcher(raw);
+            while (matcher.find()) {
+                String expression = matcher.group(1).replace("\\\"", "\"").replace("\\\\", "\\");
+                stepDefinitions.put(toPattern(expression), entry.getKey());
+            }
+            if (raw.contains("io.cucumber.java") && HOOK_ANNOTATION.matcher(raw).find()) {
+                hookClasses.add(entry.getKey());
+            }
+        }
+
+        List<ScenarioEntry> scenarios = new ArrayList<>();
+        for (Path input : inputs) {
+            String path = input.toString().replace('\\', '/');
+            if (path.endsWith(".feature")) {
+                scenarios.addAll(parseFeature(path, Files.readAllLines(input, StandardCharsets.UTF_8), stepDefinitions));
+            }
+        }
+        return new TestImpactAnalyzer(classGraph, classFiles, hookClasses, scenarios);
+    }
+
+    private static List<ScenarioEntry> parseFeature(String path, List<String> lines, Map<Pattern, String> stepDefinitions) {
+        List<ScenarioEntry> result = new ArrayList<>();
+        List<String> backgroundSteps = new ArrayList<>();
+        List<String> currentSteps = null;
+        List<String> examplesHeader = null;
+        List<String> examplesRow = null;
+        boolean inBackground = false;
+        boolean inExamples = false;
+        int scenarioLine = 0;
+        String scenarioName = null;
+
+        for (int i = 0; i <= lines.size(); i++) {
+            String line = i < lines.size() ? lines.get(i) : "Scenario: <eof>";
+            String trimmed = line.trim();
+            Matcher scenarioMatcher = SCENARIO_LINE.matcher(line);
+
+            if (scenarioMatcher.matches() || trimmed.startsWith("Background:") || trimmed.startsWith("Rule:")) {
+                if (currentSteps != null) {
+                    result.add(toEntry(path, scenarioLine, scenarioName, backgroundSteps, currentSteps,
+                            examplesHeader, examplesRow, stepDefinitions));
+                    currentSteps = null;
+                }
+                inExamples = false;
+                examplesHeader = null;
+                examplesRow = null;
+                inBackground = trimmed.startsWith("Background:");
+                if (inBackground) {
+                    backgroundSteps = new ArrayList<>();
+                } else if (scenarioMatcher.matches()) {
+                    scenarioLine = i + 1;
+                    scenarioName = scenarioMatcher.group(2).trim();
+                    currentSteps = new ArrayList<>();
+                }
+                continue;
+            }
+
+            if (trimmed.startsWith("Examples:") || trimmed.startsWith("Scenarios:")) {
+                inExamples = true;
+                continue;
+            }
+            if (inExamples && trimmed.startsWith("|")) {
+                List<String> cells = Arrays.stream(trimmed.substring(1).split("\\|"))
+                        .map(String::trim).collect(Collectors.toList());
+                if (examplesHeader == null) {
+                    examplesHeader = cells;
+                } else if (examplesRow == null) {
+                    examplesRow = cells;
+                }
+                continue;
+            }
+
+            Matcher stepMatcher = STEP_LINE.matcher(line);
+            if (stepMatcher.matches()) {
+                if (inBackground) {
+                    backgroundSteps.add(stepMatcher.group(2).trim());
+                } else if (currentSteps != null) {
+                    currentSteps.add(stepMatcher.group(2).trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static ScenarioEntry toEntry(String path, int line, String name, List<String> backgroundSteps,
+                                         List<String> steps, List<String> examplesHeader, List<String> examplesRow,
+                                         Map<Pattern, String> stepDefinitions) {
+        Set<String> glue = new TreeSet<>();
+        List<String> allSteps = new ArrayList<>(backgroundSteps);
+        allSteps.addAll(steps);
+        for (String step : allSteps) {
+            String text = substituteExample(step, examplesHeader, examplesRow);
+            for (Map.Entry<Pattern, String> definition : stepDefinitions.entrySet()) {
+                if (definition.getKey().matcher(text).matches()) {
+                    glue.add(definition.getValue());
+                    break;
+                }
+            }
+        }
+        return new ScenarioEntry(path, line, name, glue);
+    }
+
+    private static String substituteExample(String step, List<String> header, List<String> row) {
+        if (header == null || row == null) {
+            return step;
+        }
+        Matcher matcher = PLACEHOLDER.matcher(step);
+        StringBuilder sb = new StringBuilder();
+        while (matcher.find()) {
+            int column = header.indexOf(matcher.group(1));
+            String value = column >= 0 && column < row.size() ? row.get(column) : matcher.group();
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    /**
+     * Convert a Cucumber expression (or a ^...$ regular expression) into a Pattern
+     */
+    static Pattern toPattern(String expression) {
+        if (expression.startsWith("^") || expression.endsWith("$")) {
+            return Pattern.compile(expression);
+        }
+        StringBuilder regex = new StringBuilder();
+        Matcher matcher = Pattern.compile("\\{(\\w*)\\}|\\(([^)]*)\\)").matcher(expression);
+        int last = 0;
+        while (matcher.find()) {
+            regex.append(Pattern.quote(expression.substring(last, matcher.start())));
+            if (matcher.group(1) != null) {
+                switch (matcher.group(1)) {
+                    case "string":
+                        regex.append("(?:\"[^\"]*\"|'[^']*')");
+                        break;
+                    case "int":
+                    case "long":
+                    case "byte":
+                    case "short":
+                    case "biginteger":
+                        regex.append("-?\\d+");
+                        break;
+                    case "float":
+                    case "double":
+                    case "bigdecimal":
+                        regex.append("-?\\d*[.,]?\\d+");
+                        break;
+                    case "word":
+                        regex.append("\\S+");
+                        break;
+                    default:
+                        regex.append(".*");
+                }
+            } else {
+                regex.append("(?:").append(Pattern.quote(matcher.group(2))).append(")?");
+            }
+            last = matcher.end();
+        }
+        regex.append(Pattern.quote(expression.substring(last)));
+        return Pattern.compile(regex.toString());
+    }
+
+    // ========== CACHE ==========
+
+    private Properties toProperties() {
+        Properties properties = new Properties();
+        for (Map.Entry<String, String> entry : classFiles.entrySet()) {
+            properties.setProperty("class." + entry.getKey() + ".file", entry.getValue());
+            properties.setProperty("class." + entry.getKey() + ".deps",
+                    String.join(",", classGraph.getOrDefault(entry.getKey(), Collections.emptySet())));
+        }
+        properties.setProperty("hooks", String.join(",", hookClasses));
+        properties.setProperty("scenario.count", String.valueOf(scenarios.size()));
+        for (int i = 0; i < scenarios.size(); i++) {
+            ScenarioEntry scenario = scenarios.get(i);
+            properties.setProperty("scenario." + i + ".feature", scenario.featurePath);
+            properties.setProperty("scenario." + i + ".line", String.valueOf(scenario.line));
+            properties.setProperty("scenario." + i + ".name", scenario.name);
+            properties.setProperty("scenario." + i + ".glue", String.join(",", scenario.glueClasses));
+        }
+        return properties;
+    }
+
+    private static TestImpactAnalyzer fromProperties(Properties properties) {
+        Map<String, Set<String>> classGraph = new TreeMap<>();
+        Map<String, String> classFiles = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("class.") && key.endsWith(".file")) {
+                String className = key.substring("class.".length(), key.length() - ".file".length());
+                classFiles.put(className, properties.getProperty(key));
+                classGraph.put(className, splitList(properties.getProperty("class." + className + ".deps")));
+            }
+        }
+        Set<String> hookClasses = splitList(properties.getProperty("hooks"));
+        int count = Integer.parseInt(properties.getProperty("scenario.count", "0"));
+        List<ScenarioEntry> scenarios = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            scenarios.add(new ScenarioEntry(
+                    properties.getProperty("scenario." + i + ".feature"),
+                    Integer.parseInt(properties.getProperty("scenario." + i + ".line")),
+                    properties.getProperty("scenario." + i + ".name"),
+                    splitList(properties.getProperty("scenario." + i + ".glue"))));
+        }
+        return new TestImpactAnalyzer(classGraph, classFiles, hookClasses, scenarios);
+    }
+
+    // ========== HELPERS ==========
+
+    private static List<Path> collectInputs() throws IOException {
+        List<Path> inputs = new ArrayList<>();
+        List<String> roots = new ArrayList<>(SOURCE_ROOTS);
+        roots.add(FEATURES_DIR);
+        for (String root : roots) {
+            Path rootPath = Paths.get(root);
+            if (!Files.isDirectory(rootPath)) {
+                continue;
+            }
+            try (Stream<Path> walk = Files.walk(rootPath)) {
+                walk.filter(Files::isRegularFile)
+                        .filter(p -> p.toString().endsWith(".java") || p.toString().endsWith(".feature"))
+                        .sorted()
+                        .forEach(inputs::add);
+            }
+        }
+        return inputs;
+    }
+
+    private static String fingerprint(List<Path> inputs) throws IOException {
+        MessageDigest digest = sha256();
+        for (Path input : inputs) {
+            digest.update(input.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(input));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String readString(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    private static String classNameOf(String path) {
+        for (String root : SOURCE_ROOTS) {
+            int index = path.indexOf(root + "/");
+            if (index >= 0) {
+                String relative = path.substring(index + root.length() + 1);
+                return relative.substring(0, relative.length() - ".java".length()).replace('/', '.');
+            }
+        }
+        return null;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    static String normalizeFeaturePath(String featurePath) {
+        String path = featurePath.replace('\\', '/');
+        if (path.startsWith("file:")) {
+            path = path.substring("file:".length());
+        }
+        int index = path.indexOf(FEATURES_DIR);
+        if (index >= 0) {
+            return path.substring(index);
+        }
+        if (path.startsWith("classpath:")) {
+            return FEATURES_DIR + "/" + path.substring("classpath:".length()).replaceFirst("^/?features/", "");
+        }
+        return path;
+    }
+
+    /**
+     * Non-source inputs that can affect every scenario (build files, config, test resources)
+     */
+    private static boolean isGlobalInput(String path) {
+        return path.equals("pom.xml") || path.equals("testng.xml") || path.startsWith("src/");
+    }
+
+    private static Set<String> splitList(String value) {
+        Set<String> result = new TreeSet<>();
+        if (value != null && !value.isEmpty()) {
+            result.addAll(Arrays.asList(value.split(",")));
+        }
+        return result;
+    }
+
+    /**
+     * Remove comments and string literals so that only code identifiers are scanned
+     */
+    private static String stripCommentsAndStrings(String source) {
+        return source
+                .replaceAll("(?s)/\\*.*?\\*/", " ")
+                .replaceAll("//[^\\n]*", " ")
+                .replaceAll("\"(?:[^\"\\\\\\n]|\\\\.)*\"", "\"\"");
+    }
+
+    private static List<String> changedFilesSince(String baseRef) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder("git", "diff", "--name-only", baseRef)
+                .redirectErrorStream(true)
+                .start();
+        List<String> files = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    files.add(line.trim());
+                }
+            }
+        }
+        if (process.waitFor() != 0) {
+            throw new IOException("git diff failed for base " + baseRef + ": " + files);
+        }
+        return files;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseRef = args.length > 0 ? args[0] : "origin/main";
+        List<String> changedFiles = changedFilesSince(baseRef);
+        System.out.println("Changed files since " + baseRef + ": " + changedFiles.size());
+
+        TestImpactAnalyzer analyzer = load();
+        Map<ScenarioEntry, String> impacted = analyzer.selectImpacted(changedFiles);
+
+        Map<String, List<Integer>> rerun = new TreeMap<>();
+        for (Map.Entry<ScenarioEntry, String> entry : impacted.entrySet()) {
+            ScenarioEntry scenario = entry.getKey();
+            System.out.println("SELECTED " + scenario.getId() + " [" + scenario.getName() + "] - " + entry.getValue());
+            rerun.computeIfAbsent(scenario.featurePath, k -> new ArrayList<>()).add(scenario.line);
+        }
+        System.out.println("Impacted scenarios: " + impacted.size() + " of " + analyzer.scenarios.size());
+
+        Path output = Paths.get(OUTPUT_FILE);
+        Files.createDirectories(output.getParent());
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : rerun.entrySet()) {
+            lines.add(entry.getKey() + ":" + entry.getValue().stream().map(String::valueOf)
+                    .collect(Collectors.joining(":")));
+        }
+        Files.write(output, lines, StandardCharsets.UTF_8);
+    }
+}
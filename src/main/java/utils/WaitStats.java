@@ -0,0 +1,88 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run-wide wait latency statistics shared by UI waits ({@link SeleniumActions}) and
+ * database waits ({@link DatabaseUtil#waitForRow} and friends).
+ *
+ * Every wait records how long it took until its condition held (or timed out) and how
+ * many polls it needed, so the summary shows where the suite spends its waiting time
+ * and how far wait timeouts can be tightened. Latencies go into a {@link LatencyHistogram}
+ * per wait kind, so memory stays fixed however many waits the run makes.
+ */
+public class WaitStats {
+    private static final Logger logger = LogManager.getLogger(WaitStats.class);
+
+    public static final String UI = "ui";
+    public static final String DB = "db";
+
+    private static final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Latencies recorded for one wait kind
+     */
+    private static class Bucket {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder polls = new LongAdder();
+
+        void record(long elapsedNanos, boolean satisfied, int pollCount) {
+            latency.recordNanos(elapsedNanos);
+            if (!satisfied) {
+                timeouts.increment();
+            }
+            polls.add(pollCount);
+        }
+    }
+
+    /**
+     * Record a finished wait
+     * @param kind {@link #UI} or {@link #DB}
+     * @param satisfied false when the wait timed out
+     * @param polls number of condition checks (0 when unknown)
+     */
+    public static void record(String kind, long elapsedNanos, boolean satisfied, int polls) {
+        buckets.computeIfAbsent(kind, k -> new Bucket()).record(elapsedNanos, satisfied, polls);
+    }
+
+    public static long getCount(String kind) {
+        Bucket bucket = buckets.get(kind);
+        return bucket == null ? 0 : bucket.latency.getCount();
+    }
+
+    public static long getTimeouts(String kind) {
+        Bucket bucket = buckets.get(kind);
+        return bucket == null ? 0 : bucket.timeouts.sum();
+    }
+
+    /**
+     * One line per wait kind: count, timeouts, avg/p50/p95/max latency and avg polls
+     */
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder("Wait statistics:");
+        if (buckets.isEmpty()) {
+            return summary.append(" no waits recorded").toString();
+        }
+        for (Map.Entry<String, Bucket> entry : new TreeMap<>(buckets).entrySet()) {
+            Bucket bucket = entry.getValue();
+            LatencyHistogram latency = bucket.latency;
+            long count = latency.getCount();
+            summary.append(String.format("%n  %-3s waits=%d timeouts=%d avg=%.1fms p50=%.1fms p95=%.1fms max=%.1fms avgPolls=%.1f",
+                    entry.getKey(), count, bucket.timeouts.sum(), latency.getMeanMillis(),
+                    latency.getPercentileMillis(50), latency.getPercentileMillis(95), latency.getMaxMillis(),
+                    count == 0 ? 0 : (double) bucket.polls.sum() / count));
+        }
+        return summary.toString();
+    }
+
+    public static void logSummary() {
+        logger.info(getSummary());
+    }
+}
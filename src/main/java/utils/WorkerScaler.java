@@ -0,0 +1,255 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Elastic gate for the number of concurrently running browser workers.
+ *
+ * The TestNG data provider pool is sized to worker.max; every scenario acquires a
+ * worker slot before it starts a browser. The slot limit starts at thread.count and,
+ * when worker.scaling.enabled is set, is grown or shrunk periodically from the host
+ * load average, free memory (read from /proc) and the observed browser startup and
+ * WebDriver command latency. Every scaling decision is logged with its metrics.
+ */
+public class WorkerScaler {
+    private static final Logger logger = LogManager.getLogger(WorkerScaler.class);
+    private static ConfigReader config = new ConfigReader();
+
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final Condition slotFreed = lock.newCondition();
+
+    private static final int MIN_WORKERS = Math.max(1, config.getMinWorkers());
+    private static final int MAX_WORKERS = Math.max(MIN_WORKERS, config.getMaxWorkers());
+    private static int limit = Math.min(MAX_WORKERS, Math.max(MIN_WORKERS, config.getThreadCount()));
+    private static int active = 0;
+    private static int waiting = 0;
+    private static ScheduledExecutorService scheduler;
+
+    private static final LatencyTracker startupLatency = new LatencyTracker(3);
+    private static final LatencyTracker commandLatency = new LatencyTracker(100);
+
+    /**
+     * Block until a worker slot is available
+     */
+    public static void acquire() {
+        startScalingIfEnabled();
+        lock.lock();
+        try {
+            waiting++;
+            while (active >= limit) {
+                slotFreed.awaitUninterruptibly();
+            }
+            waiting--;
+            active++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a worker slot acquired with {@link #acquire()}
+     */
+    public static void release() {
+        lock.lock();
+        try {
+            active = Math.max(0, active - 1);
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record how long a browser session took to start
+     */
+    public static void recordBrowserStartup(long millis) {
+        startupLatency.record(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Record the latency of a single WebDriver command, as timed by {@link CommandMetrics}
+     */
+    public static void recordCommandLatency(long nanos) {
+        commandLatency.record(nanos);
+    }
+
+    /**
+     * Current worker slot limit
+     */
+    public static int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static synchronized void startScalingIfEnabled() {
+        if (scheduler != null || !config.isWorkerScalingEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "worker-scaler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int interval = config.getWorkerScalingInterval();
+        scheduler.scheduleWithFixedDelay(WorkerScaler::evaluate, interval, interval, TimeUnit.SECONDS);
+        logger.info("Elastic worker scaling started: base={}, min={}, max={}, interval={}s",
+                limit, MIN_WORKERS, MAX_WORKERS, interval);
+    }
+
+    /**
+     * Sample host and latency metrics and adjust the worker limit by at most one
+     */
+    static void evaluate() {
+        try {
+            int cpus = Runtime.getRuntime().availableProcessors();
+            double loadPerCpu = readLoadAverage() / cpus;
+            long freeMemoryMb = readAvailableMemoryMb();
+            double maxLoad = config.getWorkerMaxLoadPerCpu();
+            long minFreeMb = config.getWorkerMinFreeMemoryMb();
+            double factor = config.getWorkerLatencyDegradationFactor();
+            startupLatency.roll();
+            commandLatency.roll();
+            boolean startupDegraded = startupLatency.isDegraded(factor);
+            boolean commandDegraded = commandLatency.isDegraded(factor);
+            boolean memoryLow = freeMemoryMb >= 0 && freeMemoryMb < minFreeMb;
+            boolean memoryRoom = freeMemoryMb < 0 || freeMemoryMb > minFreeMb + config.getWorkerMemoryPerBrowserMb();
+
+            lock.lock();
+            try {
+                int previous = limit;
+                String reason;
+                if (loadPerCpu > maxLoad || memoryLow || startupDegraded || commandDegraded) {
+                    limit = Math.max(MIN_WORKERS, limit - 1);
+                    reason = "shrink";
+                } else if (loadPerCpu < maxLoad * 0.75 && memoryRoom && (waiting > 0 || active >= limit)) {
+                    limit = Math.min(MAX_WORKERS, limit + 1);
+                    reason = "grow";
+                } else {
+                    reason = "hold";
+                }
+                if (limit > previous) {
+                    slotFreed.signalAll();
+                }
+
+                String message = String.format(
+                        "Worker scaling %s: limit %d -> %d | active=%d waiting=%d | load/cpu=%.2f (max %.2f) "
+                                + "| freeMem=%dMB (min %dMB) | browserStart=%s | command=%s",
+                        reason, previous, limit, active, waiting, loadPerCpu, maxLoad, freeMemoryMb, minFreeMb,
+                        startupLatency.describe(), commandLatency.describe());
+                if (limit != previous) {
+                    logger.info(message);
+                } else {
+                    logger.debug(message);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (Exception e) {
+            logger.error("Worker scaling evaluation failed", e);
+        }
+    }
+
+    /**
+     * 1-minute load average from /proc/loadavg, falling back to the OS MXBean
+     */
+    private static double readLoadAverage() {
+        Path loadavg = Paths.get("/proc/loadavg");
+        try {
+            if (Files.exists(loadavg)) {
+                return Double.parseDouble(Files.readAllLines(loadavg).get(0).split("\\s+")[0]);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read /proc/loadavg", e);
+        }
+        return Math.max(0, ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage());
+    }
+
+    /**
+     * MemAvailable from /proc/meminfo in MB, or -1 when unavailable
+     */
+    private static long readAvailableMemoryMb() {
+        Path meminfo = Paths.get("/proc/meminfo");
+        try {
+            if (Files.exists(meminfo)) {
+                List<String> lines = Files.readAllLines(meminfo);
+                for (String line : lines) {
+                    if (line.startsWith("MemAvailable:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read /proc/meminfo", e);
+        }
+        return -1;
+    }
+
+    /**
+     * Median latency of the last scaling interval compared against the first samples seen
+     */
+    private static class LatencyTracker {
+        private final int baselineSamples;
+        private final LatencyHistogram baseline = new LatencyHistogram();
+        private final AtomicInteger baselineClaimed = new AtomicInteger();
+        private final AtomicReference<LatencyHistogram> window = new AtomicReference<>(new LatencyHistogram());
+        private volatile LatencyHistogram lastWindow = new LatencyHistogram();
+
+        LatencyTracker(int baselineSamples) {
+            this.baselineSamples = baselineSamples;
+        }
+
+        /**
+         * The first baselineSamples samples form the baseline; each claims its slot with a
+         * compareAndSet, so concurrent recorders cannot overfill it
+         */
+        void record(long nanos) {
+            int claimed;
+            while ((claimed = baselineClaimed.get()) < baselineSamples) {
+                if (baselineClaimed.compareAndSet(claimed, claimed + 1)) {
+                    baseline.recordNanos(nanos);
+                    return;
+                }
+            }
+            window.get().recordNanos(nanos);
+        }
+
+        /**
+         * Close the current interval; isDegraded and describe report on it until the next roll
+         */
+        void roll() {
+            lastWindow = window.getAndSet(new LatencyHistogram());
+        }
+
+        boolean isDegraded(double factor) {
+            return baseline.getCount() >= baselineSamples && lastWindow.getCount() > 0
+                    && lastWindow.getPercentileMillis(50) > baseline.getPercentileMillis(50) * factor;
+        }
+
+        String describe() {
+            if (baseline.getCount() == 0) {
+                return "n/a";
+            }
+            return String.format("p50 %.1fms (baseline %.1fms, n=%d)", lastWindow.getPercentileMillis(50),
+                    baseline.getPercentileMillis(50), lastWindow.getCount());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class that {@link ScenarioObjectFactory} creates once per worker thread and
+ * shares across that worker's scenarios. Unmarked classes are scenario-scoped.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface WorkerScoped {
+}
@@ -0,0 +1,147 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import utils.RowMapper;
+import utils.RowMapperFactory;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the DatabaseUtil HashMap&lt;String, String&gt; row path (plus parsing the
+ * values back into typed fields) against the compiled {@link RowMapperFactory} mappers.
+ *
+ * Runs against an in-memory H2 table. Run with:
+ * mvn test-compile && java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath
+ * -Dmdep.outputFile=/dev/stdout)" benchmarks.RowMapperBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final String QUERY = "SELECT id, product_name, price, quantity, created_on FROM orders";
+
+    public record Order(long id, String productName, BigDecimal price, int quantity, LocalDate createdOn) {
+    }
+
+    public static class OrderBean {
+        private long id;
+        private String productName;
+        private BigDecimal price;
+        private int quantity;
+        private LocalDate createdOn;
+
+        public void setId(long id) { this.id = id; }
+        public void setProductName(String productName) { this.productName = productName; }
+        public void setPrice(BigDecimal price) { this.price = price; }
+        public void setQuantity(int quantity) { this.quantity = quantity; }
+        public void setCreatedOn(LocalDate createdOn) { this.createdOn = createdOn; }
+    }
+
+    @Param({"1000"})
+    private int rows;
+
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:rowmapper;DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS orders");
+            ddl.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, product_name VARCHAR(64), "
+                    + "price DECIMAL(10,2), quantity INT, created_on DATE)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO orders VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "Product " + i);
+                insert.setBigDecimal(3, BigDecimal.valueOf(i * 7 % 1000, 2));
+                insert.setInt(4, i % 10);
+                insert.setObject(5, LocalDate.of(2024, 1, 1).plusDays(i % 365));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        statement = connection.prepareStatement(QUERY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        statement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void hashMapRows(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            for (Map<String, String> row : toMaps(resultSet)) {
+                blackhole.consume(new Order(
+                        Long.parseLong(row.get("ID")),
+                        row.get("PRODUCT_NAME"),
+                        new BigDecimal(row.get("PRICE")),
+                        Integer.parseInt(row.get("QUANTITY")),
+                        LocalDate.parse(row.get("CREATED_ON"))));
+            }
+        }
+    }
+
+    @Benchmark
+    public void compiledRecordMapper(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            RowMapper<Order> mapper = RowMapperFactory.forResult(Order.class, resultSet.getMetaData());
+            while (resultSet.next()) {
+                blackhole.consume(mapper.map(resultSet));
+            }
+        }
+    }
+
+    @Benchmark
+    public void compiledBeanMapper(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            RowMapper<OrderBean> mapper = RowMapperFactory.forResult(OrderBean.class, resultSet.getMetaData());
+            while (resultSet.next()) {
+                blackhole.consume(mapper.map(resultSet));
+            }
+        }
+    }
+
+    /**
+     * Same row materialisation as DatabaseUtil.executeQuery
+     */
+    private static List<Map<String, String>> toMaps(ResultSet resultSet) throws SQLException {
+        List<Map<String, String>> resultList = new ArrayList<>();
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        while (resultSet.next()) {
+            Map<String, String> row = new HashMap<>();
+            for (int i = 1; i <= columnCount; i++) {
+                row.put(metaData.getColumnName(i), resultSet.getString(i));
+            }
+            resultList.add(row);
+        }
+        return resultList;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RowMapperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -7,52 +7,57 @@ import utils.EmailUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * TestNG Listener for sending email reports after test execution
  */
 public class TestEmailListener extends TestListenerAdapter implements ITestListener {
     
     private static final Logger logger = LogManager.getLogger(TestEmailListener.class);
-    private static int passedCount = 0;
-    private static int failedCount = 0;
-    private static int skippedCount = 0;
+    private static final AtomicInteger passedCount = new AtomicInteger();
+    private static final AtomicInteger failedCount = new AtomicInteger();
+    private static final AtomicInteger skippedCount = new AtomicInteger();
     
     @Override
     public void onTestSuccess(ITestResult result) {
-        passedCount++;
+        passedCount.incrementAndGet();
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
-        failedCount++;
+        failedCount.incrementAndGet();
     }
     
     @Override
     public void onTestSkipped(ITestResult result) {
-        skippedCount++;
+        skippedCount.incrementAndGet();
     }
     
     @Override
     public void onFinish(org.testng.ITestContext context) {
-        int totalTests = passedCount + failedCount + skippedCount;
+        int passed = passedCount.get();
+        int failed = failedCount.get();
+        int skipped = skippedCount.get();
+        int totalTests = passed + failed + skipped;
         
         logger.info("========== TEST EXECUTION SUMMARY ==========");
         logger.info("Total Tests: " + totalTests);
-        logger.info("Passed: " + passedCount);
-        logger.info("Failed: " + failedCount);
-        logger.info("Skipped: " + skippedCount);
+        logger.info("Passed: " + passed);
+        logger.info("Failed: " + failed);
+        logger.info("Skipped: " + skipped);
         logger.info("==========================================");
         
         // Determine overall status
-        String testStatus = failedCount > 0 ? "FAILED" : "PASSED";
+        String testStatus = failed > 0 ? "FAILED" : "PASSED";
         
         // Send email with report
         String reportPath = "test-output/reports/ExtentReport.html";
         EmailUtil.sendReportEmail(testStatus, reportPath);
         
         // Reset counters for next run
-        passedCount = 0;
-        failedCount = 0;
-        skippedCount = 0;
+        passedCount.set(0);
+        failedCount.set(0);
+        skippedCount.set(0);
     }
 }
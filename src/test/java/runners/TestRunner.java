@@ -2,7 +2,10 @@ package runners;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
+import utils.EarlySignalScheduler;
+import utils.ScenarioObjectFactory;
 
 /**
  * TestNG Cucumber Test Runner
@@ -18,6 +21,9 @@ import org.testng.annotations.Listeners;
         // Path to step definitions and hooks
         glue = {"stepdefinitions", "hooks"},
         
+        // Constructor injection with scenario/worker scopes for steps and page objects
+        objectFactory = ScenarioObjectFactory.class,
+        
         // Tags to run - you can customize this
         // Examples:
         // "@smoke" - run only smoke tests
@@ -32,7 +38,8 @@ import org.testng.annotations.Listeners;
                 "html:test-output/cucumber-reports/cucumber.html", // HTML report
                 "json:test-output/cucumber-reports/cucumber.json", // JSON report
                 "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:", // Extent report
-                "rerun:test-output/failed_scenarios.txt"           // Failed scenarios file
+                "rerun:test-output/failed_scenarios.txt",          // Failed scenarios file
+                "utils.CommandMetricsPlugin"                        // Scenario/step context for WebDriver command timings
         },
         
         // Make console output readable
@@ -45,6 +52,16 @@ import org.testng.annotations.Listeners;
         publish = false
 )
 public class TestRunner extends AbstractTestNGCucumberTests {
-    // This class will be empty
     // TestNG will automatically discover and run feature files based on @CucumberOptions
+    
+    /**
+     * Scenarios in execution order; @smoke scenarios are queued first when schedule.smoke.first is set.
+     * Runs serially unless worker.scaling.enabled is set, in which case WorkerParallelismListener
+     * makes this provider parallel and WorkerScaler gates the number of concurrent browsers.
+     */
+    @Override
+    @DataProvider
+    public Object[][] scenarios() {
+        return EarlySignalScheduler.schedule(super.scenarios());
+    }
 }
@@ -0,0 +1,46 @@
+package runners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.xml.XmlSuite;
+import utils.ConfigReader;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Turns on parallel scenario execution only when worker.scaling.enabled is set.
+ *
+ * By default the scenario data provider stays serial, as in a plain Cucumber TestNG run.
+ * With scaling enabled it is made parallel and the data provider pool is sized to
+ * worker.max, so WorkerScaler can grow up to its configured maximum without the pool
+ * capping it. Registered in testng.xml, as TestNG only applies annotation transformers
+ * and suite alterations from there.
+ */
+public class WorkerParallelismListener implements IAnnotationTransformer, IAlterSuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(WorkerParallelismListener.class);
+    private static ConfigReader config = new ConfigReader();
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        if (config.isWorkerScalingEnabled()) {
+            annotation.setParallel(true);
+        }
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!config.isWorkerScalingEnabled()) {
+            return;
+        }
+        int maxWorkers = Math.max(1, config.getMaxWorkers());
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(maxWorkers);
+        }
+        logger.info("Parallel scenarios enabled: data provider pool sized to worker.max={}", maxWorkers);
+    }
+}
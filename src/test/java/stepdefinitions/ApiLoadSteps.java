@@ -0,0 +1,66 @@
+package stepdefinitions;
+
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.en.*;
+import org.testng.Assert;
+import utils.ApiLoadGenerator;
+import utils.ApiStubServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Step Definitions for API load runs against the local stub server
+ */
+public class ApiLoadSteps {
+
+    private String baseUrl;
+    private final List<ApiLoadGenerator.FlowStep> flow = new ArrayList<>();
+    private ApiLoadGenerator.LoadReport report;
+
+    @Given("the API stub server is running with latency profile {string}")
+    public void the_api_stub_server_is_running_with_latency_profile(String profile) {
+        baseUrl = ApiStubServer.start();
+        ApiStubServer.setLatencyProfile(profile);
+    }
+
+    @Given("the stub serves {string} {string} with status {int} and body:")
+    public void the_stub_serves_with_status_and_body(String method, String path, int status, String body) {
+        ApiStubServer.stub(method, path, status, body);
+    }
+
+    @Given("the API flow:")
+    public void the_api_flow(DataTable table) {
+        flow.clear();
+        for (Map<String, String> row : table.asMaps()) {
+            flow.add(new ApiLoadGenerator.FlowStep(row.get("method"), row.get("endpoint"), row.get("body")));
+        }
+    }
+
+    @When("the flow runs at {double} iterations per second for {int} seconds")
+    public void the_flow_runs_at_iterations_per_second_for_seconds(double rate, int seconds) {
+        report = ApiLoadGenerator.runOpenModel(baseUrl, flow, rate, Duration.ofSeconds(seconds));
+        ApiLoadGenerator.writeReport(report);
+    }
+
+    @When("the flow runs with {int} virtual users for {int} seconds")
+    public void the_flow_runs_with_virtual_users_for_seconds(int users, int seconds) {
+        report = ApiLoadGenerator.runClosedModel(baseUrl, flow, users, Duration.ofSeconds(seconds), Duration.ZERO);
+        ApiLoadGenerator.writeReport(report);
+    }
+
+    @Then("the p{int} flow latency should be below {int} ms")
+    public void the_flow_latency_should_be_below_ms(int percentile, int maxMillis) {
+        double actual = report.getFlowLatency().getPercentileMillis(percentile);
+        Assert.assertTrue(actual < maxMillis,
+            "p" + percentile + " flow latency " + actual + "ms is not below " + maxMillis + "ms");
+    }
+
+    @Then("the error rate should be below {double} percent")
+    public void the_error_rate_should_be_below_percent(double maxPercent) {
+        Assert.assertTrue(report.getErrorRate() * 100 < maxPercent,
+            "Error rate " + report.getErrorRate() * 100 + "% is not below " + maxPercent + "%");
+    }
+}
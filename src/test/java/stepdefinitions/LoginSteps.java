@@ -4,8 +4,10 @@ import io.cucumber.java.en.*;
 import org.testng.Assert;
 import pages.LoginPage;
 import pages.ProductsPage;
+import utils.BackgroundSharing;
 import utils.ConfigReader;
 import utils.DriverManager;
+import utils.StateSeeder;
 
 /**
  * Step Definitions for Login feature
@@ -16,15 +18,15 @@ public class LoginSteps {
     private ProductsPage productsPage;
     private ConfigReader config;
     
-    public LoginSteps() {
-        loginPage = new LoginPage(DriverManager.getDriver());
-        productsPage = new ProductsPage(DriverManager.getDriver());
-        config = new ConfigReader();
+    public LoginSteps(LoginPage loginPage, ProductsPage productsPage, ConfigReader config) {
+        this.loginPage = loginPage;
+        this.productsPage = productsPage;
+        this.config = config;
     }
     
     @Given("User navigates to the SauceDemo login page")
     public void user_navigates_to_the_sauce_demo_login_page() {
-        DriverManager.getDriver().get(config.getBaseUrl());
+        BackgroundSharing.runShared(() -> DriverManager.getDriver().get(config.getBaseUrl()));
         Assert.assertTrue(loginPage.isLoginPageDisplayed(), "Login page is not displayed");
     }
     
@@ -85,8 +87,14 @@ public class LoginSteps {
     
     @Given("User is logged in to the application")
     public void user_is_logged_in_to_the_application() {
-        DriverManager.getDriver().get(config.getBaseUrl());
-        loginPage.login("standard_user", "secret_sauce");
+        BackgroundSharing.runShared(() -> {
+            if (StateSeeder.isEnabled()) {
+                StateSeeder.on(DriverManager.getDriver()).loggedInAs("standard_user").open(StateSeeder.INVENTORY);
+            } else {
+                DriverManager.getDriver().get(config.getBaseUrl());
+                loginPage.login("standard_user", "secret_sauce");
+            }
+        });
         Assert.assertTrue(productsPage.isProductsPageDisplayed(), 
             "User login failed - Products page not displayed");
     }
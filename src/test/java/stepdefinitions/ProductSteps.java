@@ -2,9 +2,14 @@ package stepdefinitions;
 
 import io.cucumber.java.en.*;
 import org.testng.Assert;
+import pages.CartPage;
+import pages.CheckoutPage;
 import pages.LoginPage;
 import pages.ProductsPage;
 import utils.DriverManager;
+import utils.StateSeeder;
+
+import java.util.List;
 
 /**
  * Step Definitions for Products feature
@@ -13,11 +18,15 @@ public class ProductSteps {
     
     private ProductsPage productsPage;
     private LoginPage loginPage;
+    private CartPage cartPage;
+    private CheckoutPage checkoutPage;
     private String productPrice;
     
-    public ProductSteps() {
-        productsPage = new ProductsPage(DriverManager.getDriver());
-        loginPage = new LoginPage(DriverManager.getDriver());
+    public ProductSteps(ProductsPage productsPage, LoginPage loginPage, CartPage cartPage, CheckoutPage checkoutPage) {
+        this.productsPage = productsPage;
+        this.loginPage = loginPage;
+        this.cartPage = cartPage;
+        this.checkoutPage = checkoutPage;
     }
     
     @Then("User should see products page")
@@ -38,6 +47,20 @@ public class ProductSteps {
         productsPage.addProductToCart(productName);
     }
     
+    @Given("User has product {string} in cart")
+    public void user_has_product_in_cart(String productName) {
+        user_has_products_in_cart(List.of(productName));
+    }
+    
+    @Given("User has products in cart:")
+    public void user_has_products_in_cart(List<String> productNames) {
+        if (StateSeeder.isEnabled()) {
+            StateSeeder.on(DriverManager.getDriver()).withCart(productNames).open(StateSeeder.INVENTORY);
+        } else {
+            productNames.forEach(productsPage::addProductToCart);
+        }
+    }
+    
     @Then("Shopping cart badge should show {string}")
     public void shopping_cart_badge_should_show(String expectedCount) {
         String actualCount = productsPage.getCartItemCount();
@@ -87,11 +110,6 @@ public class ProductSteps {
     
     @When("User clicks on logout link")
     public void user_clicks_on_logout_link() {
-        try {
-            Thread.sleep(500); // Small wait for menu to open
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
         productsPage.logout();
     }
     
@@ -109,7 +127,6 @@ public class ProductSteps {
     @Then("User should see cart page with {int} items")
     public void user_should_see_cart_page_with_items(int expectedItems) {
         // Wait and verify cart page is displayed
-        pages.CartPage cartPage = new pages.CartPage(DriverManager.getDriver());
         Assert.assertTrue(cartPage.isCartPageDisplayed(),
             "User should be on cart page. Current URL: " + DriverManager.getDriver().getCurrentUrl());
         
@@ -118,13 +135,11 @@ public class ProductSteps {
 
     @When("User clicks on checkout")
     public void user_clicks_on_checkout() {
-        pages.CartPage cartPage = new pages.CartPage(DriverManager.getDriver());
         cartPage.clickCheckout();
     }
 
     @Then("User should be navigated to checkout information page")
     public void user_should_be_navigated_to_checkout_information_page() {
-        pages.CheckoutPage checkoutPage = new pages.CheckoutPage(DriverManager.getDriver());
         Assert.assertTrue(checkoutPage.isCheckoutInformationPageDisplayed(),
             "User should be on checkout information page. Current URL: " + DriverManager.getDriver().getCurrentUrl());
     }
@@ -0,0 +1,80 @@
+package utils;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Statement cache behaviour of {@link ConnectionPool} against an in-memory H2 database
+ */
+public class ConnectionPoolTest {
+
+    private static final int CACHE_SIZE = 3;
+
+    private ConnectionPool pool;
+    private ConnectionPool.PooledConnection pooled;
+
+    @BeforeMethod
+    public void openPool() throws SQLException {
+        pool = new ConnectionPool("org.h2.Driver", "jdbc:h2:mem:pool_test", "sa", "", 1, 5, 60, CACHE_SIZE);
+        pooled = pool.borrow();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void closePool() {
+        pool.release(pooled);
+        pool.close();
+    }
+
+    @Test
+    public void statementPreparedWhileEveryCachedOneIsInUseStaysOpen() throws SQLException {
+        List<ResultSet> cursors = new ArrayList<>();
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            String sql = "SELECT " + i;
+            PreparedStatement statement = pooled.prepareStatement(sql);
+            cursors.add(statement.executeQuery());
+            pooled.setInUse(sql, statement, true);
+        }
+
+        PreparedStatement extra = pooled.prepareStatement("SELECT 42");
+        assertFalse(extra.isClosed(), "statement prepared past the cache size was closed");
+        try (ResultSet resultSet = extra.executeQuery()) {
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getInt(1), 42);
+        }
+        for (ResultSet cursor : cursors) {
+            assertFalse(cursor.isClosed(), "open cursor lost its statement");
+            assertTrue(cursor.next());
+        }
+    }
+
+    @Test
+    public void cacheShrinksBackOnceCursorsAreReleased() throws SQLException {
+        List<PreparedStatement> held = new ArrayList<>();
+        for (int i = 0; i <= CACHE_SIZE; i++) {
+            String sql = "SELECT " + i;
+            PreparedStatement statement = pooled.prepareStatement(sql);
+            statement.executeQuery();
+            pooled.setInUse(sql, statement, true);
+            held.add(statement);
+        }
+        for (int i = 0; i < held.size(); i++) {
+            pooled.setInUse("SELECT " + i, held.get(i), false);
+        }
+
+        pooled.prepareStatement("SELECT 100");
+        assertTrue(held.get(0).isClosed(), "least recently used statement should be evicted");
+        assertTrue(held.get(1).isClosed(), "cache should shrink back to its size");
+        assertTrue(pooled.isCached("SELECT 100", pooled.prepareStatement("SELECT 100")));
+    }
+}
@@ -0,0 +1,116 @@
+package utils;
+
+import io.restassured.path.json.JsonPath;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Compares the streaming {@link JsonExtractor} with RestAssured's jsonPath over the
+ * supported path subset
+ */
+public class JsonExtractorTest {
+
+    private static final String BODY = "{"
+            + "\"id\":7,\"name\":\"Backpack\",\"price\":29.99,\"big\":4000000000,\"active\":true,\"note\":null,"
+            + "\"user\":{\"name\":\"ann\",\"roles\":[\"admin\",\"qa\"]},"
+            + "\"items\":[{\"name\":\"a\",\"qty\":1,\"tags\":[\"x\",\"y\"]},{\"name\":\"b\",\"qty\":2,\"tags\":[\"z\"]}],"
+            + "\"empty\":[],\"prices\":[1.5,2.25],\"huge\":1.0E300,"
+            + "\"partial\":[{\"name\":\"p1\",\"meta\":{\"code\":\"c1\"}},{\"qty\":3},null,{\"name\":null,\"meta\":{}}],"
+            + "\"nested\":{\"items\":[{\"id\":1,\"lines\":[{\"sku\":\"s1\"}]},{\"id\":2,\"lines\":[{\"sku\":\"s2\"},{\"sku\":\"s3\"}]}]}"
+            + "}";
+
+    private static final String ROOT_ARRAY = "[{\"id\":1,\"name\":\"first\"},{\"id\":2,\"name\":\"second\"}]";
+
+    @DataProvider
+    public Object[][] paths() {
+        return new Object[][] {
+                // fields
+                {BODY, "id"}, {BODY, "name"}, {BODY, "big"}, {BODY, "active"}, {BODY, "note"},
+                {BODY, "price"}, {BODY, "prices"}, {BODY, "huge"},
+                {BODY, "user.name"}, {BODY, "user.roles"},
+                // indexes
+                {BODY, "user.roles[1]"}, {BODY, "items[0].name"}, {BODY, "items[1].tags[0]"},
+                {BODY, "items[5]"}, {ROOT_ARRAY, "[1].name"},
+                // implicit traversal
+                {BODY, "items.name"}, {BODY, "items.qty"}, {BODY, "items.tags"}, {BODY, "nested.items.id"},
+                {ROOT_ARRAY, "id"},
+                // indexes and traversals applied to a traversed list
+                {BODY, "items.name[0]"}, {BODY, "items.tags[1]"}, {BODY, "nested.items.lines.sku"},
+                // elements lacking the field, null elements, missing intermediate fields
+                {BODY, "partial.name"}, {BODY, "partial.qty"}, {BODY, "partial.meta.code"},
+                // missing paths
+                {BODY, "missing"}, {BODY, "user.missing"},
+                // empty arrays
+                {BODY, "empty"}, {BODY, "empty.name"}
+        };
+    }
+
+    @Test(dataProvider = "paths")
+    public void matchesJsonPath(String body, String path) {
+        assertNotNull(JsonExtractor.compile(path), path + " should be in the streamed subset");
+        assertEquals(extract(body, path), JsonPath.from(body).get(path), path);
+    }
+
+    @Test
+    public void wildcardMatchesImplicitTraversal() {
+        assertEquals(extract(BODY, "items[*].name"), JsonPath.from(BODY).get("items.name"));
+        assertEquals(extract(BODY, "nested.items[*].id"), JsonPath.from(BODY).get("nested.items.id"));
+        assertEquals(extract(BODY, "empty[*].name"), List.of());
+    }
+
+    @Test
+    public void numbersHaveJsonPathTypes() {
+        assertTrue(extract(BODY, "price") instanceof Float, "decimal type");
+        assertTrue(extract(BODY, "huge") instanceof Double, "out of float range type");
+        assertTrue(extract(BODY, "id") instanceof Integer, "int type");
+        assertTrue(extract(BODY, "big") instanceof Long, "long type");
+    }
+
+    @Test
+    public void traversalKeepsNullForMissingFields() {
+        assertEquals(extract(BODY, "partial.name"), Arrays.asList("p1", null, null));
+        assertEquals(extract(BODY, "partial.meta.code"), Arrays.asList("c1", null));
+    }
+
+    @Test
+    public void unsupportedExpressionsAreNotCompiled() {
+        assertEquals(JsonExtractor.compile("items.findAll { it.qty > 1 }.name"), null);
+        assertEquals(JsonExtractor.compile("items[-1].name"), null);
+        assertEquals(JsonExtractor.compile("items.size()"), null);
+    }
+
+    @Test
+    public void resolvesSeveralPathsInOnePass() {
+        Map<String, Object> results = JsonExtractor.extract(bytes(BODY), List.of(
+                JsonExtractor.compile("id"), JsonExtractor.compile("items.name"),
+                JsonExtractor.compile("items.name[1]"), JsonExtractor.compile("missing")));
+        JsonPath jsonPath = JsonPath.from(BODY);
+        for (String path : List.of("id", "items.name", "items.name[1]", "missing")) {
+            assertEquals(results.get(path), jsonPath.get(path), path);
+        }
+    }
+
+    @Test
+    public void invalidJsonIsAnError() {
+        expectThrows(IllegalStateException.class, () -> extract("<html>Service Unavailable</html>", "id"));
+        expectThrows(IllegalStateException.class, () -> extract("{\"id\": 7, \"name\": ", "name"));
+    }
+
+    private static Object extract(String body, String path) {
+        return JsonExtractor.extract(bytes(body), List.of(JsonExtractor.compile(path))).get(path);
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,35 @@
+@api @load
+Feature: API Load
+  As a performance engineer
+  I want to replay an API flow under load against a local stub server
+  So that I can track throughput and latency percentiles without network access
+
+  Background:
+    Given the API stub server is running with latency profile "lan"
+    And the stub serves "GET" "/inventory" with status 200 and body:
+      """
+      [{"id":4,"name":"Sauce Labs Backpack","price":29.99},{"id":0,"name":"Sauce Labs Bike Light","price":9.99}]
+      """
+    And the stub serves "GET" "/inventory/4" with status 200 and body:
+      """
+      {"id":4,"name":"Sauce Labs Backpack","price":29.99}
+      """
+    And the stub serves "POST" "/cart" with status 201 and body:
+      """
+      {"items":[4]}
+      """
+    And the API flow:
+      | method | endpoint     | body          |
+      | GET    | /inventory   |               |
+      | GET    | /inventory/4 |               |
+      | POST   | /cart        | {"itemId": 4} |
+
+  Scenario: Open model at a fixed arrival rate
+    When the flow runs at 20 iterations per second for 5 seconds
+    Then the error rate should be below 1 percent
+    And the p99 flow latency should be below 500 ms
+
+  Scenario: Closed model with concurrent virtual users
+    When the flow runs with 5 virtual users for 5 seconds
+    Then the error rate should be below 1 percent
+    And the p95 flow latency should be below 500 ms
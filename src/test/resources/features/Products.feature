@@ -25,7 +25,7 @@ Feature: Product Shopping Functionality
 
   @regression
   Scenario: Remove product from cart
-    Given User adds product "Sauce Labs Backpack" to cart
+    Given User has product "Sauce Labs Backpack" in cart
     When User removes product "Sauce Labs Backpack" from cart
     Then Shopping cart badge should not be displayed
 
@@ -54,7 +54,7 @@ Feature: Product Shopping Functionality
 
   @e2e @regression
   Scenario: Proceed to checkout from cart page
-    When User adds product "Sauce Labs Backpack" to cart
+    Given User has product "Sauce Labs Backpack" in cart
     And User clicks on shopping cart
     And User clicks on checkout
     Then User should be navigated to checkout information page